@@ -0,0 +1,78 @@
+package com.woojoo.forsbackend.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.woojoo.forsbackend.ForsBackendApplication;
+import com.woojoo.forsbackend.service.DropLifecycleScheduler;
+import com.woojoo.forsbackend.service.StockService;
+
+/*
+드랍 오픈 부하 테스트. 로컬 DB를 바라보는 백엔드를 같은 JVM에 띄우고 HTTP로 시나리오를 돌린다.
+  ./gradlew :loadtest:run -Dload.users=5000 -Dload.skus=3 -Dload.stock-per-sku=300
+나머지 fors.* 설정(재고 모드, group commit 등)도 -Dfors.stock.mode=memory 처럼 그대로 넘기면 된다.
+oversell/재고 불일치가 있으면 종료 코드 1.
+*/
+public class DropDayLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", options.dbUrl());
+        properties.put("spring.datasource.username", options.dbUser());
+        properties.put("spring.datasource.password", options.dbPassword());
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("fors.auth.mode", "token");
+        properties.put("fors.auth.token.secret", "loadtest-secret-loadtest-secret-0123");
+        properties.put("fors.order.payment-ttl-seconds", String.valueOf(options.paymentTtlSeconds()));
+
+        int exitCode;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ForsBackendApplication.class)
+                .properties(properties)
+                .run(args)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTestSeeder seeder = new LoadTestSeeder(context.getBean(JdbcTemplate.class), context.getBean(PasswordEncoder.class));
+
+            LoadTestSeeder.SeededDrop drop = seeder.seed(options);
+            // 방금 넣은 드랍의 시작/종료 타이머를 바로 올린다.
+            context.getBean(DropLifecycleScheduler.class).rescan();
+            System.out.printf("seeded drop %d (%d users, %d skus x %d) opening at %s%n",
+                drop.dropEventId(), options.users(), options.skus(), options.stockPerSku(), drop.startsAt());
+
+            DropDayScenario scenario = new DropDayScenario(options, port);
+            scenario.run(drop);
+
+            // 결제 안 한 주문이 만료될 때까지 기다린 뒤 재고를 맞춰본다.
+            System.out.printf("waiting %ds for pending orders to expire...%n", options.paymentTtlSeconds() + 3);
+            Thread.sleep((options.paymentTtlSeconds() + 3) * 1000);
+            context.getBean(StockService.class).syncPending();
+
+            scenario.stats().print(System.out);
+            long stillPending = seeder.countByStatus(drop.dropEventId(), "PAYMENT_PENDING");
+            System.out.printf("expired: %d, still pending: %d%n",
+                seeder.countByStatus(drop.dropEventId(), "EXPIRED"), stillPending);
+
+            List<String> problems = new ArrayList<>(seeder.checkStock(drop.dropEventId(), options.stockPerSku()));
+            if (stillPending > 0) {
+                problems.add("PENDING_NOT_EXPIRED count=" + stillPending);
+            }
+            if (scenario.idempotencyMismatches() > 0) {
+                problems.add("IDEMPOTENCY_MISMATCH count=" + scenario.idempotencyMismatches());
+            }
+            problems.forEach(System.out::println);
+            System.out.println(problems.isEmpty() ? "stock check: OK" : "stock check: FAILED");
+            exitCode = problems.isEmpty() ? 0 : 1;
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,236 @@
+package com.woojoo.forsbackend.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/*
+드랍 오픈 시나리오 (HTTP)
+1. 전원 동시 로그인
+2. 오픈 전부터 /api/drops 폴링
+3. 오픈 시각에 전원 주문 (Idempotency-Key, 429/503/전송 실패는 같은 키로 재시도, 일부는 성공 후에도 같은 키로 한 번 더)
+4. 주문 성공분은 SUCCEED / FAIL / 결제 안 함(만료) 으로 나눈다.
+*/
+class DropDayScenario {
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*(\\d+)");
+    private static final Pattern TOKEN_COOKIE = Pattern.compile("(FORS_TOKEN=[^;]+)");
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final EndpointStats stats = new EndpointStats();
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    private final LongAdder ordersCreated = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder idempotencyMismatches = new LongAdder();
+    private final LongAdder paidSucceed = new LongAdder();
+    private final LongAdder paidFail = new LongAdder();
+    private final LongAdder abandoned = new LongAdder();
+    private final AtomicLong lastOrderAtNanos = new AtomicLong();
+
+    DropDayScenario(LoadTestOptions options, int port) {
+        this.options = options;
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    EndpointStats stats() {
+        return stats;
+    }
+
+    void run(LoadTestSeeder.SeededDrop drop) throws InterruptedException {
+        String[] cookies = loginBurst(drop.emails());
+
+        AtomicBoolean polling = new AtomicBoolean(true);
+        try (ExecutorService pollers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.pollers(); i++) {
+                pollers.submit(() -> poll(polling));
+            }
+
+            Duration untilStart = Duration.between(LocalDateTime.now(), drop.startsAt());
+            if (!untilStart.isNegative()) {
+                Thread.sleep(untilStart.toMillis());
+            }
+
+            long openedAt = System.nanoTime();
+            Semaphore inFlight = new Semaphore(options.concurrency());
+            try (ExecutorService buyers = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (String cookie : cookies) {
+                    if (cookie == null) {
+                        continue;
+                    }
+                    inFlight.acquire();
+                    buyers.submit(() -> {
+                        try {
+                            buy(drop.dropEventId(), cookie);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+            polling.set(false);
+
+            double seconds = Math.max(lastOrderAtNanos.get() - openedAt, 1) / 1e9;
+            System.out.printf("orders created: %d in %.2fs (%.1f orders/s), 5xx on order (SOLD_OUT etc.): %d%n",
+                ordersCreated.sum(), seconds, ordersCreated.sum() / seconds, rejected.sum());
+            System.out.printf("pay SUCCEED: %d, pay FAIL: %d, left to expire: %d, idempotency mismatches: %d%n",
+                paidSucceed.sum(), paidFail.sum(), abandoned.sum(), idempotencyMismatches.sum());
+        }
+    }
+
+    long idempotencyMismatches() {
+        return idempotencyMismatches.sum();
+    }
+
+    private String[] loginBurst(List<String> emails) throws InterruptedException {
+        String[] cookies = new String[emails.size()];
+        Semaphore inFlight = new Semaphore(options.concurrency());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < emails.size(); i++) {
+                int n = i;
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        String body = "{\"email\":\"" + emails.get(n) + "\",\"password\":\"" + LoadTestSeeder.PASSWORD + "\"}";
+                        HttpResponse<String> response = sendWithRetry("POST /api/auth/login",
+                            post("/api/auth/login", null, body).build());
+                        if (response != null && response.statusCode() == 200) {
+                            cookies[n] = response.headers().allValues("Set-Cookie").stream()
+                                .map(TOKEN_COOKIE::matcher)
+                                .filter(Matcher::find)
+                                .map(m -> m.group(1))
+                                .findFirst()
+                                .orElse(null);
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        return cookies;
+    }
+
+    private void poll(AtomicBoolean polling) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/drops")).GET().build();
+        while (polling.get()) {
+            send("GET /api/drops", request);
+            try {
+                Thread.sleep(options.pollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void buy(long dropEventId, String cookie) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long skuId = 1 + random.nextInt(options.skus());
+        String key = UUID.randomUUID().toString();
+        String body = "{\"dropEventId\":" + dropEventId + ",\"skuId\":" + skuId + ",\"amount\":1000}";
+        HttpRequest request = post("/api/orders", cookie, body).header("Idempotency-Key", key).build();
+
+        HttpResponse<String> created = sendWithRetry("POST /api/orders", request);
+        if (created == null || created.statusCode() != 200) {
+            if (created != null && created.statusCode() >= 500) {
+                rejected.increment();
+            }
+            return;
+        }
+        ordersCreated.increment();
+        lastOrderAtNanos.accumulateAndGet(System.nanoTime(), Math::max);
+        String orderId = orderId(created.body());
+
+        // 클라이언트 재시도 흉내: 같은 키면 같은 주문이 와야 한다.
+        if (random.nextDouble() < options.duplicateRatio()) {
+            HttpResponse<String> again = sendWithRetry("POST /api/orders (retry)", request);
+            if (again == null || again.statusCode() != 200 || !orderId.equals(orderId(again.body()))) {
+                idempotencyMismatches.increment();
+            }
+        }
+
+        double roll = random.nextDouble();
+        if (roll < options.abandonRatio()) {
+            abandoned.increment();
+            return;
+        }
+        boolean fail = roll < options.abandonRatio() + options.payFailRatio();
+        HttpResponse<String> paid = sendWithRetry("POST /api/orders/pay",
+            post("/api/orders/" + orderId + "/pay", cookie, "{\"result\":\"" + (fail ? "FAIL" : "SUCCEED") + "\"}").build());
+        if (paid != null && paid.statusCode() / 100 == 2) {
+            (fail ? paidFail : paidSucceed).increment();
+        }
+    }
+
+    // 429/503(Retry-After)와 전송 실패만 같은 요청으로 다시 보낸다.
+    private HttpResponse<String> sendWithRetry(String endpoint, HttpRequest request) {
+        HttpResponse<String> response = null;
+        for (int attempt = 0; attempt <= options.maxRetries(); attempt++) {
+            response = send(endpoint, request);
+            int status = response == null ? EndpointStats.IO_ERROR : response.statusCode();
+            if (status != EndpointStats.IO_ERROR && status != 429 && status != 503) {
+                return response;
+            }
+            long backoffMillis = response == null ? 100L * (attempt + 1)
+                : 1000L * Long.parseLong(response.headers().firstValue("Retry-After").orElse("1"));
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return response;
+            }
+        }
+        return response;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            stats.record(endpoint, startedAt, response.statusCode());
+            return response;
+        } catch (IOException e) {
+            stats.record(endpoint, startedAt, EndpointStats.IO_ERROR);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder post(String path, String cookie, String json) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder;
+    }
+
+    private static String orderId(String body) {
+        Matcher m = ORDER_ID.matcher(body);
+        return m.find() ? m.group(1) : "";
+    }
+}
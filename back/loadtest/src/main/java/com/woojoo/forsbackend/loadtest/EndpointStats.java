@@ -0,0 +1,49 @@
+package com.woojoo.forsbackend.loadtest;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+// 엔드포인트별 지연(HdrHistogram, 마이크로초)과 응답 코드 집계
+class EndpointStats {
+
+    // 전송 자체가 실패한 요청은 status 0으로 남긴다.
+    static final int IO_ERROR = 0;
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long startedNanos, int status) {
+        Endpoint e = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        long micros = (System.nanoTime() - startedNanos) / 1_000;
+        e.latency.recordValue(Math.min(Math.max(micros, 1), MAX_LATENCY_MICROS));
+        e.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-22s %8s %10s %10s %10s %10s  %s%n", "endpoint", "count", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)", "status");
+        new TreeMap<>(endpoints).forEach((name, e) -> {
+            Histogram h = e.latency;
+            Map<Integer, Long> statuses = new TreeMap<>();
+            e.statuses.forEach((status, count) -> statuses.put(status, count.sum()));
+            out.printf("%-22s %8d %10.2f %10.2f %10.2f %10.2f  %s%n", name, h.getTotalCount(),
+                h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0,
+                h.getValueAtPercentile(99.9) / 1000.0,
+                h.getMaxValue() / 1000.0,
+                statuses);
+        });
+    }
+
+    private static final class Endpoint {
+        final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
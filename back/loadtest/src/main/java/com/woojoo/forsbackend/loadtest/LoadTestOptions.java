@@ -0,0 +1,50 @@
+package com.woojoo.forsbackend.loadtest;
+
+import java.time.Duration;
+
+// -Dload.* 시스템 프로퍼티로 받는 부하 시나리오 설정
+record LoadTestOptions(
+    String dbUrl,
+    String dbUser,
+    String dbPassword,
+    int users,
+    int skus,
+    int stockPerSku,
+    int stockBuckets,
+    Duration startDelay,
+    Duration pollInterval,
+    int pollers,
+    int concurrency,
+    int maxRetries,
+    double duplicateRatio,
+    double payFailRatio,
+    double abandonRatio,
+    long paymentTtlSeconds
+) {
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+            System.getProperty("load.db.url", "jdbc:mariadb://localhost:3306/fors_loadtest?createDatabaseIfNotExist=true"),
+            System.getProperty("load.db.user", "root"),
+            System.getProperty("load.db.password", ""),
+            Integer.getInteger("load.users", 2000),
+            Integer.getInteger("load.skus", 3),
+            Integer.getInteger("load.stock-per-sku", 200),
+            Integer.getInteger("load.stock-buckets", 1),
+            Duration.ofSeconds(Integer.getInteger("load.start-delay-seconds", 10)),
+            Duration.ofMillis(Integer.getInteger("load.poll-interval-ms", 500)),
+            Integer.getInteger("load.pollers", 200),
+            Integer.getInteger("load.concurrency", 500),
+            Integer.getInteger("load.max-retries", 3),
+            doubleProperty("load.duplicate-ratio", 0.1),
+            doubleProperty("load.pay-fail-ratio", 0.1),
+            doubleProperty("load.abandon-ratio", 0.1),
+            Long.getLong("load.payment-ttl-seconds", 20)
+        );
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
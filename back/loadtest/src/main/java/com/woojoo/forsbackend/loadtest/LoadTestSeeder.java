@@ -0,0 +1,99 @@
+package com.woojoo.forsbackend.loadtest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+실행마다 새 사용자/드랍을 넣는다. (같은 DB를 여러 번 써도 이전 실행과 섞이지 않게 runId를 붙임)
+드랍은 SCHEDULED로 넣고 startDelay 뒤에 백엔드의 상태 전환 타이머가 LIVE로 바꾼다.
+*/
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest123";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+
+    LoadTestSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    record SeededDrop(long dropEventId, LocalDateTime startsAt, List<String> emails) {}
+
+    SeededDrop seed(LoadTestOptions options) {
+        long runId = System.currentTimeMillis();
+        // 모든 사용자가 같은 비밀번호라 해시는 한 번만 만든다. (로그인 검증 비용은 그대로)
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        List<String> emails = new ArrayList<>(options.users());
+        List<Object[]> users = new ArrayList<>(options.users());
+        for (int i = 0; i < options.users(); i++) {
+            String email = "lt" + runId + "-" + i + "@fors.local";
+            emails.add(email);
+            users.add(new Object[] {email, passwordHash});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, password_hash) VALUES (?, ?)", users);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) SELECT id, 'USER' FROM users WHERE email LIKE ?",
+            "lt" + runId + "-%");
+
+        jdbcTemplate.update("INSERT INTO drop_products (name, brand, price) VALUES (?, 'FORS', 1000)", "loadtest-" + runId);
+        Long productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_products", Long.class);
+
+        LocalDateTime startsAt = LocalDateTime.now().plus(options.startDelay());
+        jdbcTemplate.update("""
+            INSERT INTO drop_events (product_id, status, starts_at, ends_at, stock_buckets)
+            VALUES (?, 'SCHEDULED', ?, ?, ?)""",
+            productId, Timestamp.valueOf(startsAt), Timestamp.valueOf(startsAt.plusHours(1)), options.stockBuckets());
+        Long dropEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_events WHERE product_id = ?",
+            Long.class, productId);
+
+        List<Object[]> stocks = new ArrayList<>(options.skus());
+        for (long sku = 1; sku <= options.skus(); sku++) {
+            stocks.add(new Object[] {dropEventId, sku, options.stockPerSku()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO drop_stocks (drop_event_id, sku_id, bucket, remaining_qty) VALUES (?, ?, 0, ?)", stocks);
+        return new SeededDrop(dropEventId, startsAt, emails);
+    }
+
+    /*
+    SKU별로 남은 재고 + 재고를 잡고 있는 주문(PAYMENT_PENDING/PAID/SHIPPING) = 처음 재고 인지 본다.
+    남은 재고가 음수거나 합이 넘치면 oversell, 모자라면 복구 누락.
+    */
+    List<String> checkStock(long dropEventId, int stockPerSku) {
+        Map<Long, Long> remaining = new HashMap<>();
+        jdbcTemplate.query("SELECT sku_id, SUM(remaining_qty) FROM drop_stocks WHERE drop_event_id = ? GROUP BY sku_id",
+            rs -> { remaining.put(rs.getLong(1), rs.getLong(2)); }, dropEventId);
+        Map<Long, Long> held = new HashMap<>();
+        jdbcTemplate.query("""
+            SELECT sku_id, COUNT(*) FROM orders
+            WHERE drop_event_id = ? AND status IN ('PAYMENT_PENDING', 'PAID', 'SHIPPING')
+            GROUP BY sku_id""",
+            rs -> { held.put(rs.getLong(1), rs.getLong(2)); }, dropEventId);
+
+        List<String> problems = new ArrayList<>();
+        remaining.forEach((sku, left) -> {
+            long sold = held.getOrDefault(sku, 0L);
+            System.out.printf("sku %d: remaining=%d held=%d initial=%d%n", sku, left, sold, stockPerSku);
+            if (left < 0 || sold > stockPerSku) {
+                problems.add("OVERSELL sku=" + sku + " remaining=" + left + " held=" + sold);
+            } else if (left + sold != stockPerSku) {
+                problems.add("STOCK_MISMATCH sku=" + sku + " remaining=" + left + " held=" + sold);
+            }
+        });
+        return problems;
+    }
+
+    long countByStatus(long dropEventId, String status) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders WHERE drop_event_id = ? AND status = ?",
+            Long.class, dropEventId, status);
+        return count == null ? 0 : count;
+    }
+}
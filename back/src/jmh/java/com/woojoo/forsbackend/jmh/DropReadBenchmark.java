@@ -0,0 +1,34 @@
+package com.woojoo.forsbackend.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.woojoo.forsbackend.dto.DropDetailResponse;
+
+// 드랍 목록(스냅샷 바이트)과 상세 조회
+@Fork(1)
+@Threads(8)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class DropReadBenchmark {
+
+    @Benchmark
+    public byte[] list(ForsContext fors) {
+        return fors.dropService.listJson();
+    }
+
+    @Benchmark
+    public DropDetailResponse detail(ForsContext fors) {
+        return fors.dropService.detail(fors.liveDropId);
+    }
+}
@@ -0,0 +1,52 @@
+package com.woojoo.forsbackend.jmh;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.woojoo.forsbackend.service.OrderExpiryService;
+
+// 만료 대기 주문이 쌓여 있을 때 전부 만료시키는 시간 (건당 평균)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExpiryBenchmark {
+
+    private static final int BACKLOG = 20_000;
+    private static final int CHUNK = 500;
+
+    @State(Scope.Benchmark)
+    public static class Backlog {
+        @Setup(Level.Iteration)
+        public void setUp(ForsContext fors) {
+            fors.insertPendingOrders(BACKLOG, LocalDateTime.now().minusMinutes(1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BACKLOG)
+    public int expireBacklog(ForsContext fors, Backlog backlog) {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        OrderExpiryService.Chunk chunk = OrderExpiryService.Chunk.first();
+        do {
+            chunk = fors.orderExpiryService.expireChunk(now, chunk, CHUNK);
+            total += chunk.expired();
+        } while (chunk.locked() == CHUNK);
+        return total;
+    }
+}
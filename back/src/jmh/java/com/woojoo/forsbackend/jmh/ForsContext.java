@@ -0,0 +1,115 @@
+package com.woojoo.forsbackend.jmh;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.woojoo.forsbackend.ForsBackendApplication;
+import com.woojoo.forsbackend.entity.TsidGenerator;
+import com.woojoo.forsbackend.service.DropService;
+import com.woojoo.forsbackend.service.OrderExpiryService;
+import com.woojoo.forsbackend.service.OrderService;
+import com.woojoo.forsbackend.service.StockService;
+import com.woojoo.forsbackend.support.EmbeddedMariaDb;
+
+
+/*
+벤치마크 공용 상태. 임베디드 MariaDB(MariaDB4j) 위에 실제 애플리케이션 컨텍스트를 띄운다.
+(네이티브 MariaDB 문법을 쓰는 쿼리가 있어서 H2 호환 모드 대신 진짜 MariaDB를 쓴다)
+- liveDropId: 재고가 충분한 LIVE 드랍 (SKU 1개에 모든 스레드가 몰림)
+- soldOutDropId: 재고 0인 LIVE 드랍
+*/
+@State(Scope.Benchmark)
+public class ForsContext {
+
+    public static final long SKU_ID = 1L;
+
+    private static final AtomicInteger trials = new AtomicInteger();
+
+    private ConfigurableApplicationContext context;
+
+    public OrderService orderService;
+    public DropService dropService;
+    public OrderExpiryService orderExpiryService;
+    public StockService stockService;
+    public JdbcTemplate jdbcTemplate;
+    public long liveDropId;
+    public long soldOutDropId;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        // 같은 포크에서 트라이얼마다 빈 DB로 시작한다.
+        String url = EmbeddedMariaDb.url("fors_jmh_" + trials.incrementAndGet());
+
+        context = new SpringApplicationBuilder(ForsBackendApplication.class)
+            .properties(Map.of(
+                "server.port", "0",
+                "spring.datasource.url", url,
+                "spring.datasource.username", EmbeddedMariaDb.USERNAME,
+                "spring.datasource.password", EmbeddedMariaDb.PASSWORD,
+                "spring.jpa.show-sql", "false",
+                // 벤치마크가 직접 만료를 돌리므로 백그라운드 재적재는 끈다.
+                "fors.order.expiry.rescan-ms", "3600000"))
+            .run();
+
+        orderService = context.getBean(OrderService.class);
+        dropService = context.getBean(DropService.class);
+        orderExpiryService = context.getBean(OrderExpiryService.class);
+        stockService = context.getBean(StockService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.update("INSERT INTO drop_products (name, brand, price) VALUES ('bench', 'FORS', 1000)");
+        Long productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_products", Long.class);
+        liveDropId = insertLiveDrop(productId, 10_000_000);
+        soldOutDropId = insertLiveDrop(productId, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    // 결제/만료 벤치마크용 대기 주문을 JDBC 배치로 바로 넣는다.
+    public List<Long> insertPendingOrders(int count, LocalDateTime expiresAt) {
+        List<Long> orderIds = new ArrayList<>(count);
+        List<Object[]> orders = new ArrayList<>(count);
+        List<Object[]> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long orderId = TsidGenerator.nextId();
+            orderIds.add(orderId);
+            orders.add(new Object[] {orderId, 1 + i % 10_000, liveDropId, SKU_ID, Timestamp.valueOf(expiresAt)});
+            payments.add(new Object[] {TsidGenerator.nextId(), orderId});
+        }
+        jdbcTemplate.batchUpdate("""
+            INSERT INTO orders (id, user_id, drop_event_id, sku_id, status, expires_at)
+            VALUES (?, ?, ?, ?, 'PAYMENT_PENDING', ?)""", orders);
+        jdbcTemplate.batchUpdate("INSERT INTO payments (id, order_id, status, amount) VALUES (?, ?, 'INITIATED', 1000)", payments);
+        return orderIds;
+    }
+
+    private long insertLiveDrop(Long productId, int qty) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO drop_events (product_id, status, starts_at, ends_at) VALUES (?, 'LIVE', ?, ?)",
+            productId, Timestamp.valueOf(now.minusMinutes(1)), Timestamp.valueOf(now.plusDays(1)));
+        Long dropId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_events", Long.class);
+        jdbcTemplate.update("INSERT INTO drop_stocks (drop_event_id, sku_id, remaining_qty) VALUES (?, ?, ?)",
+            dropId, SKU_ID, qty);
+        // 기동 이후에 넣은 드랍이라 메모리 재고 모드면 카운터를 직접 올린다.
+        stockService.onDropLive(dropId);
+        return dropId;
+    }
+}
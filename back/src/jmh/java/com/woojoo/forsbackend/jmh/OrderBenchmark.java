@@ -0,0 +1,101 @@
+package com.woojoo.forsbackend.jmh;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.woojoo.forsbackend.dto.CreateOrderRequest;
+import com.woojoo.forsbackend.dto.CreateOrderResponse;
+
+// 주문 생성/결제 경로. 주문 생성은 8개 스레드가 같은 SKU 하나에 몰리는 상황으로 잰다.
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderBenchmark {
+
+    private static final AtomicLong KEYS = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Buyer {
+        long userId;
+        CreateOrderRequest inStock;
+        CreateOrderRequest soldOut;
+        String repeatedKey;
+
+        @Setup(Level.Trial)
+        public void setUp(ForsContext fors) {
+            userId = 100_000 + KEYS.incrementAndGet();
+            inStock = new CreateOrderRequest(fors.liveDropId, ForsContext.SKU_ID, 1000);
+            soldOut = new CreateOrderRequest(fors.soldOutDropId, ForsContext.SKU_ID, 1000);
+            repeatedKey = "repeat-" + userId;
+            // 멱등키 hit 벤치마크용으로 한 번 만들어 둔다.
+            fors.orderService.createOrder(inStock, repeatedKey, userId);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    public CreateOrderResponse createOrderNewKeyInStock(ForsContext fors, Buyer buyer) {
+        return fors.orderService.createOrder(buyer.inStock, "k-" + KEYS.incrementAndGet(), buyer.userId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    public CreateOrderResponse createOrderIdempotencyHit(ForsContext fors, Buyer buyer) {
+        return fors.orderService.createOrder(buyer.inStock, buyer.repeatedKey, buyer.userId);
+    }
+
+    @Benchmark
+    @Threads(8)
+    @BenchmarkMode(Mode.Throughput)
+    public void createOrderSoldOut(ForsContext fors, Buyer buyer, Blackhole bh) {
+        try {
+            bh.consume(fors.orderService.createOrder(buyer.soldOut, "k-" + KEYS.incrementAndGet(), buyer.userId));
+        } catch (IllegalStateException soldOut) {
+            bh.consume(soldOut);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PendingOrders {
+        static final int BATCH = 1000;
+        List<Long> orderIds;
+
+        @Setup(Level.Iteration)
+        public void setUp(ForsContext fors) {
+            orderIds = fors.insertPendingOrders(BATCH, LocalDateTime.now().plusMinutes(5));
+        }
+    }
+
+    // 결제 성공 1000건을 한 번에 (건당 평균 시간)
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OperationsPerInvocation(PendingOrders.BATCH)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 20)
+    public void paySucceed(ForsContext fors, PendingOrders pending, Blackhole bh) {
+        for (Long orderId : pending.orderIds) {
+            bh.consume(fors.orderService.pay(orderId, "SUCCEED"));
+        }
+    }
+}
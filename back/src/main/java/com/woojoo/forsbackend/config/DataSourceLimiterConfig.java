@@ -0,0 +1,53 @@
+package com.woojoo.forsbackend.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// fors.db.limiter.enabled (기본: 가상 스레드 모드일 때 켜짐)면 Hikari 풀 앞에 세마포어를 씌운다.
+@Configuration
+public class DataSourceLimiterConfig {
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment env) {
+        return new LimiterPostProcessor(env);
+    }
+
+    // Hikari 바로 바깥에 씌워야 해서 다른 DataSource 래퍼(SqlStatsConfig)보다 먼저 돈다.
+    private static final class LimiterPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final Environment env;
+
+        private LimiterPostProcessor(Environment env) {
+            this.env = env;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource hikari) || !limiterEnabled(env)) {
+                return bean;
+            }
+            int maxConcurrency = env.getProperty("fors.db.limiter.max-concurrency", Integer.class, 0);
+            long acquireTimeoutMillis = env.getProperty("fors.db.limiter.acquire-timeout-ms", Long.class,
+                hikari.getConnectionTimeout());
+            return new ConcurrencyLimitedDataSource((DataSource) bean,
+                maxConcurrency > 0 ? maxConcurrency : hikari.getMaximumPoolSize(), acquireTimeoutMillis);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+
+    private static boolean limiterEnabled(Environment env) {
+        boolean virtualThreads = env.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        return env.getProperty("fors.db.limiter.enabled", Boolean.class, virtualThreads);
+    }
+}
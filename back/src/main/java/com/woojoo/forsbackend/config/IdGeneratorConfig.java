@@ -0,0 +1,15 @@
+package com.woojoo.forsbackend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import com.woojoo.forsbackend.entity.TsidGenerator;
+
+// 노드마다 다른 fors.id.node-id를 줘야 ID가 겹치지 않는다.
+@Configuration
+public class IdGeneratorConfig {
+
+    public IdGeneratorConfig(@Value("${fors.id.node-id:0}") long nodeId) {
+        TsidGenerator.configureNode(nodeId);
+    }
+}
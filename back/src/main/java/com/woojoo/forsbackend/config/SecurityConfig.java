@@ -9,39 +9,55 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.woojoo.forsbackend.security.AuthTokenFilter;
+import com.woojoo.forsbackend.security.AuthTokenService;
+
 import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
 public class SecurityConfig {
     
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthTokenService authTokenService) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
             .cors(Customizer.withDefaults())
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.POST, "/api/auth/signup").permitAll()
                 .requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
+                .requestMatchers("/api/drops/*/queue", "/api/drops/*/queue/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/drops/**").permitAll()
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 .requestMatchers("/api/orders/**").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/auth/me").authenticated()
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().denyAll()
             )
             .formLogin(form -> form.disable())
             .logout(logout -> logout
                 .logoutUrl("/api/auth/logout")
+                .deleteCookies(AuthTokenService.COOKIE_NAME)
                 .logoutSuccessHandler((req, res, auth) -> res.setStatus(HttpServletResponse.SC_OK))
             );
+        // 토큰 모드: 세션을 만들지 않고 요청마다 서명된 토큰으로 인증한다.
+        if (authTokenService.isEnabled()) {
+            http
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new AuthTokenFilter(authTokenService), UsernamePasswordAuthenticationFilter.class);
+        }
         return http.build();
     }
 
@@ -70,8 +86,12 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    // 토큰 모드에서는 로그인 결과를 세션에 저장하지 않는다. (로그인 응답의 토큰 쿠키로 대신함)
     @Bean
-    public SecurityContextRepository SecurityContextRepository() {
+    public SecurityContextRepository SecurityContextRepository(AuthTokenService authTokenService) {
+        if (authTokenService.isEnabled()) {
+            return new RequestAttributeSecurityContextRepository();
+        }
         return new HttpSessionSecurityContextRepository();
     }
 }
\ No newline at end of file
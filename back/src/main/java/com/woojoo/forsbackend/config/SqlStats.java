@@ -0,0 +1,137 @@
+package com.woojoo.forsbackend.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/*
+현재 스레드에서 실행된 SQL 수 / DB 시간 / 지문(fingerprint)별 횟수를 모은다.
+요청마다 SqlStatsFilter가 하나를 열고, 테스트에서는 직접 열어서 쿼리 예산을 검사한다.
+
+    try (SqlStats.Recording sql = SqlStats.start()) {
+        mockMvc.perform(get("/api/drops"));
+        sql.assertAtMost(1, "GET /api/drops");
+    }
+
+녹화는 중첩될 수 있고, 실행된 SQL은 열려 있는 모든 녹화에 기록된다.
+(비동기로 다른 스레드에서 도는 부분은 잡히지 않는다)
+*/
+public final class SqlStats {
+
+    private static final ThreadLocal<Deque<Recording>> ACTIVE = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_FINGERPRINT_LENGTH = 200;
+
+    private SqlStats() {
+    }
+
+    public static Recording start() {
+        Deque<Recording> active = ACTIVE.get();
+        if (active == null) {
+            active = new ArrayDeque<>();
+            ACTIVE.set(active);
+        }
+        Recording recording = new Recording();
+        active.push(recording);
+        return recording;
+    }
+
+    static void record(String sql, long elapsedMillis) {
+        Deque<Recording> active = ACTIVE.get();
+        if (active == null) {
+            return;
+        }
+        String fingerprint = fingerprint(sql);
+        for (Recording recording : active) {
+            recording.add(fingerprint, elapsedMillis);
+        }
+    }
+
+    // 값만 다른 SQL이 같은 지문이 되도록 리터럴/IN 목록/공백을 정리한다.
+    static String fingerprint(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() > MAX_FINGERPRINT_LENGTH
+            ? normalized.substring(0, MAX_FINGERPRINT_LENGTH) + "..."
+            : normalized;
+    }
+
+    public static final class Recording implements AutoCloseable {
+
+        private final long startedAt = System.nanoTime();
+        private final Map<String, Integer> fingerprints = new LinkedHashMap<>();
+        private int statements;
+        private long dbMillis;
+        private boolean closed;
+
+        private void add(String fingerprint, long elapsedMillis) {
+            statements++;
+            dbMillis += elapsedMillis;
+            fingerprints.merge(fingerprint, 1, Integer::sum);
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public long dbMillis() {
+            return dbMillis;
+        }
+
+        public long elapsedMillis() {
+            return (System.nanoTime() - startedAt) / 1_000_000;
+        }
+
+        // 지문별 실행 횟수 (실행 순서대로)
+        public Map<String, Integer> fingerprints() {
+            return Map.copyOf(fingerprints);
+        }
+
+        // 같은 지문이 2번 이상이면 N+1 후보
+        public Map<String, Integer> repeated() {
+            return fingerprints.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        }
+
+        public void assertAtMost(int budget, String label) {
+            if (statements > budget) {
+                throw new AssertionError(label + ": " + statements + " SQL statements (budget " + budget + ")\n" + describe());
+            }
+        }
+
+        public void assertNoRepeats(String label) {
+            Map<String, Integer> repeated = repeated();
+            if (!repeated.isEmpty()) {
+                throw new AssertionError(label + ": repeated SQL (N+1?)\n" + describe());
+            }
+        }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder();
+            fingerprints.forEach((sql, count) -> sb.append("  ").append(count).append(" x ").append(sql).append('\n'));
+            return sb.toString();
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                Deque<Recording> active = ACTIVE.get();
+                if (active != null && active.remove(this) && active.isEmpty()) {
+                    // 풀 스레드에 빈 deque를 남기지 않는다.
+                    ACTIVE.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.woojoo.forsbackend.config;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/*
+요청 단위 SQL 카운터 (fors.sql-stats.enabled, 기본 켜짐)
+JDBC 레벨(datasource-proxy)에서 세기 때문에 Hibernate, JdbcTemplate, 네이티브 쿼리가 모두 잡힌다.
+커넥션 동시성 제한(DataSourceLimiterConfig)보다 바깥에 씌운다.
+*/
+@Configuration
+@ConditionalOnProperty(name = "fors.sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+
+    @Bean
+    static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new SqlStatsDataSourcePostProcessor();
+    }
+
+    @Bean
+    FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry meterRegistry, Environment env) {
+        SqlStatsFilter filter = new SqlStatsFilter(meterRegistry,
+            env.getProperty("fors.sql-stats.slow-request-ms", Long.class, 500L),
+            env.getProperty("fors.sql-stats.warn-statements", Integer.class, 30));
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(filter);
+        // 보안 필터(세션 사용자 조회)까지 포함해서 센다.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static final class SqlStatsDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                return bean;
+            }
+            return ProxyDataSourceBuilder.create(dataSource)
+                .name(beanName)
+                .listener(new RecordingListener())
+                .build();
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+
+    private static final class RecordingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        // 배치는 JDBC 실행 1번으로 센다.
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!queryInfoList.isEmpty()) {
+                SqlStats.record(queryInfoList.get(0).getQuery(), execInfo.getElapsedTime());
+            }
+        }
+    }
+}
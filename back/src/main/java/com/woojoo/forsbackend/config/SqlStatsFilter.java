@@ -0,0 +1,78 @@
+package com.woojoo.forsbackend.config;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/*
+요청마다 SQL 수/DB 시간을 엔드포인트(매핑 패턴)별로 남긴다.
+- fors.sql.statements{method,uri,async}: 요청당 SQL 수
+- fors.sql.time{method,uri,async}: 요청당 DB 시간 합
+예외로 끝난 요청(SOLD_OUT 500 등)도 센다. async=true인 요청(SSE, 스트리밍 내보내기)은
+첫 디스패치에서 실행된 SQL만 잡히므로 따로 태그한다.
+느리거나 SQL이 많은 요청은 지문별 횟수와 함께 WARN 로그로 남긴다.
+*/
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowRequestMillis;
+    private final int warnStatements;
+
+    public SqlStatsFilter(MeterRegistry meterRegistry, long slowRequestMillis, int warnStatements) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequestMillis = slowRequestMillis;
+        this.warnStatements = warnStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStats.Recording sql = SqlStats.start()) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                report(request, sql);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStats.Recording sql) {
+        // 매핑 패턴이 없으면(404 등) 태그 수가 늘지 않게 한데 모은다.
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        String async = Boolean.toString(request.isAsyncStarted());
+
+        DistributionSummary.builder("fors.sql.statements")
+            .tags("method", method, "uri", uri, "async", async)
+            .register(meterRegistry)
+            .record(sql.statements());
+        Timer.builder("fors.sql.time")
+            .tags("method", method, "uri", uri, "async", async)
+            .register(meterRegistry)
+            .record(sql.dbMillis(), TimeUnit.MILLISECONDS);
+
+        long elapsed = sql.elapsedMillis();
+        if (elapsed >= slowRequestMillis || sql.statements() >= warnStatements) {
+            Map<String, Integer> repeated = sql.repeated();
+            log.warn("{} {}{} took {}ms with {} SQL ({}ms in DB){}\n{}", method, uri,
+                request.isAsyncStarted() ? " (async)" : "", elapsed, sql.statements(),
+                sql.dbMillis(), repeated.isEmpty() ? "" : ", repeated: " + repeated.size(), sql.describe());
+        }
+    }
+}
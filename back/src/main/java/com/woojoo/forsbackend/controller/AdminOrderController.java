@@ -1,7 +1,7 @@
 package com.woojoo.forsbackend.controller;
 
-import java.util.List;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -9,8 +9,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.woojoo.forsbackend.dto.OrderPageResponse;
 import com.woojoo.forsbackend.entity.OrderEntity;
+import com.woojoo.forsbackend.service.AdminOrderQueryService;
 import com.woojoo.forsbackend.service.OrderService;
 
 @RestController
@@ -18,11 +21,31 @@ import com.woojoo.forsbackend.service.OrderService;
 public class AdminOrderController {
 
     private final OrderService orderService;
-    public AdminOrderController(OrderService orderService) { this.orderService = orderService; }
+    private final AdminOrderQueryService adminOrderQueryService;
+    public AdminOrderController(OrderService orderService, AdminOrderQueryService adminOrderQueryService) {
+        this.orderService = orderService;
+        this.adminOrderQueryService = adminOrderQueryService;
+    }
 
+    // 최신순 한 페이지씩. 다음 페이지는 응답의 nextCursor를 cursor로 넘긴다.
     @GetMapping("/orders")
-    public ResponseEntity<List<OrderEntity>> list(@RequestParam(required = false) String status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+    public ResponseEntity<OrderPageResponse> list(@RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) Long userId,
+                                                  @RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(adminOrderQueryService.page(status, userId, cursor, size));
+    }
+
+    // 전체 내보내기 (NDJSON 또는 CSV 스트리밍)
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String status,
+                                                        @RequestParam(required = false) Long userId,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        return ResponseEntity.ok()
+            .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=orders." + (csv ? "csv" : "ndjson"))
+            .body(out -> adminOrderQueryService.export(status, userId, format, out));
     }
 
     @PostMapping("/orders/{id}/ship")
@@ -6,16 +6,24 @@ import org.springframework.web.bind.annotation.RestController;
 import com.woojoo.forsbackend.dto.LoginRequest;
 import com.woojoo.forsbackend.dto.MeResponse;
 import com.woojoo.forsbackend.dto.SignupRequest;
-import com.woojoo.forsbackend.repository.UserRepository;
+import com.woojoo.forsbackend.security.AuthTokenService;
+import com.woojoo.forsbackend.security.UserPrincipal;
 import com.woojoo.forsbackend.service.AuthService;
+import com.woojoo.forsbackend.service.PasswordHashingService;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -31,57 +39,74 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final AuthService authService;
     private final SecurityContextRepository securityContextRepository;
-    private final UserRepository userRepository;
+    private final AuthTokenService authTokenService;
+    private final PasswordHashingService passwordHashingService;
     
     public AuthController(AuthService authService,
                           AuthenticationManager authenticationManager,
                           SecurityContextRepository securityContextRepository,
-                          UserRepository userRepository) { 
+                          AuthTokenService authTokenService,
+                          PasswordHashingService passwordHashingService) { 
         this.authService = authService;
         this.authenticationManager = authenticationManager;
         this.securityContextRepository = securityContextRepository;
-        this.userRepository = userRepository;
+        this.authTokenService = authTokenService;
+        this.passwordHashingService = passwordHashingService;
      }
 
+    // 해시는 해시 전용 풀에서 돌고 요청 스레드는 바로 반납된다.
     @PostMapping("/signup")
-    public ResponseEntity<Void> signup(@RequestBody SignupRequest req) {
-        authService.signup(req);
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> signup(@RequestBody SignupRequest req) {
+        try {
+            return authService.signup(req).thenApply(v -> ResponseEntity.ok().<Void>build());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(tooBusy());
+        }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<Void> login(
+    public CompletableFuture<ResponseEntity<Void>> login(
         @RequestBody LoginRequest req,
         HttpServletRequest request,
         HttpServletResponse response
     )  {
-    // 비밀번호 검증
-    Authentication auth = authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(req.email(), req.password())
-    );
-
-    // 로그인 결과(auth)를 SecurityContext에 넣기
-    var context = SecurityContextHolder.createEmptyContext();
-    context.setAuthentication(auth);
-    SecurityContextHolder.setContext(context);
-
-    // 그 로그인 정보를 "세션에 저장"해서 다음 요청에도 유지
-    securityContextRepository.saveContext(context, request, response);
+    // 비밀번호 검증 (BCrypt)은 해시 전용 풀에서
+    CompletableFuture<Authentication> authenticated;
+    try {
+        authenticated = passwordHashingService.submit("verify", () -> authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken(req.email(), req.password())
+        ));
+    } catch (RejectedExecutionException e) {
+        return CompletableFuture.completedFuture(tooBusy());
+    }
 
-    return ResponseEntity.ok().build();
+    return authenticated.thenApply(auth -> {
+        // 로그인 결과(auth)를 SecurityContext에 넣기
+        var context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(auth);
+
+        // 그 로그인 정보를 "세션에 저장"해서 다음 요청에도 유지
+        securityContextRepository.saveContext(context, request, response);
+
+        // 토큰 모드면 세션 대신 서명된 토큰을 쿠키로 내려준다.
+        if (authTokenService.isEnabled()) {
+            var cookie = authTokenService.issueCookie((UserPrincipal) auth.getPrincipal());
+            return ResponseEntity.ok().header(HttpHeaders.SET_COOKIE, cookie.toString()).<Void>build();
+        }
+        return ResponseEntity.ok().<Void>build();
+    });
     }
 
+    // 로그인 때 만든 principal에서 바로 응답 (DB 조회 없음)
     @GetMapping("/me")
-    public ResponseEntity<MeResponse> me(Authentication authentication) {
-        String email = authentication.getName();
-        var user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new IllegalStateException("USER_NOT_FOUND"));
-
-        String role = user.getRoles().stream()
-            .findFirst()
-            .map(r -> r.getRole())
-            .orElse("USER");
-
-        return ResponseEntity.ok(new MeResponse(user.getId(), user.getEmail(), role));
-    } 
+    public ResponseEntity<MeResponse> me(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(new MeResponse(principal.getUserId(), principal.getUsername(), principal.primaryRole()));
+    }
+
+    // 해시 풀이 가득 차면 바로 거절하고 잠시 뒤 재시도하게 한다.
+    private ResponseEntity<Void> tooBusy() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .build();
+    }
 }
@@ -1,31 +1,42 @@
 package com.woojoo.forsbackend.controller;
 
-import java.util.List;
-
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.woojoo.forsbackend.dto.DropDetailResponse;
-import com.woojoo.forsbackend.dto.DropResponse;
 import com.woojoo.forsbackend.service.DropService;
+import com.woojoo.forsbackend.service.DropStreamBroadcaster;
 
 @RestController
 @RequestMapping("/api/drops")
 public class DropController {
 
     private final DropService dropService;
+    private final DropStreamBroadcaster dropStreamBroadcaster;
 
-    public DropController(DropService dropService) {
+    public DropController(DropService dropService, DropStreamBroadcaster dropStreamBroadcaster) {
         this.dropService = dropService;
+        this.dropStreamBroadcaster = dropStreamBroadcaster;
     }
 
+    // 미리 직렬화해 둔 JSON 바이트를 그대로 내려준다.
     @GetMapping
-    public ResponseEntity<List<DropResponse>> list() {
-        return ResponseEntity.ok(dropService.list());
+    public ResponseEntity<byte[]> list() {
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(dropService.listJson());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<DropDetailResponse> detail(@PathVariable Long id) {
         return ResponseEntity.ok(dropService.detail(id));
     }
+
+    // 상세 페이지는 처음 한 번 조회한 뒤 이 스트림으로 재고 스냅샷/상태 변화를 받는다.
+    @GetMapping(value = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable Long id) {
+        return dropStreamBroadcaster.subscribe(id);
+    }
 }
@@ -1,48 +1,71 @@
 package com.woojoo.forsbackend.controller;
 
-import java.util.List;
-
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import com.woojoo.forsbackend.dto.CreateOrderRequest;
 import com.woojoo.forsbackend.dto.CreateOrderResponse;
+import com.woojoo.forsbackend.dto.OrderPageResponse;
 import com.woojoo.forsbackend.dto.PayRequest;
 import com.woojoo.forsbackend.dto.PayResponse;
 import com.woojoo.forsbackend.entity.OrderEntity;
-import com.woojoo.forsbackend.repository.UserRepository;
+import com.woojoo.forsbackend.security.UserPrincipal;
+import com.woojoo.forsbackend.service.AdmissionQueueService;
 import com.woojoo.forsbackend.service.OrderService;
+import com.woojoo.forsbackend.service.PaymentCallbackIngestor;
 
 @RestController
 @RequestMapping("/api")
 public class OrderController {
 
-    private final UserRepository userRepository;
-
     private final OrderService orderService;
-    public OrderController(OrderService orderService, UserRepository userRepository) { 
+    private final AdmissionQueueService admissionQueueService;
+    private final PaymentCallbackIngestor paymentCallbackIngestor;
+    public OrderController(OrderService orderService,
+                           AdmissionQueueService admissionQueueService,
+                           PaymentCallbackIngestor paymentCallbackIngestor) { 
         this.orderService = orderService; 
-        this.userRepository = userRepository;
+        this.admissionQueueService = admissionQueueService;
+        this.paymentCallbackIngestor = paymentCallbackIngestor;
     }
 
     @PostMapping("/orders")
     public ResponseEntity<CreateOrderResponse> create(
             @RequestHeader(value="Idempotency-Key", required=true) String idemKey,
+            @RequestHeader(value="Queue-Ticket", required=false) String queueTicket,
             @RequestBody CreateOrderRequest req,
-            Authentication authentication
+            @AuthenticationPrincipal UserPrincipal principal
     ) {
-        String email = authentication.getName();
-        Long userId = userRepository.findByEmail(email)
-            .orElseThrow(() -> new IllegalStateException("USER_NOT_FOUND"))
-            .getId();
-        return ResponseEntity.ok(orderService.createOrder(req, idemKey, userId));
+        Long userId = principal.getUserId();
+        if (!admissionQueueService.isEnabled()) {
+            return ResponseEntity.ok(orderService.createOrder(req, idemKey, userId));
+        }
+
+        // 대기열을 켜면 입장한 티켓만 주문까지 들어온다.
+        try {
+            admissionQueueService.enter(req.dropEventId(), queueTicket, userId);
+        } catch (ResponseStatusException | IllegalStateException e) {
+            // 티켓은 첫 시도가 끝나면 반납되므로, 같은 키의 재시도(타임아웃 등)는 저장된 응답으로 돌려준다.
+            CreateOrderResponse existing = orderService.findReplay(idemKey, userId);
+            if (existing != null) {
+                return ResponseEntity.ok(existing);
+            }
+            throw e;
+        }
+        try {
+            return ResponseEntity.ok(orderService.createOrder(req, idemKey, userId));
+        } finally {
+            admissionQueueService.leave(req.dropEventId(), queueTicket);
+        }
     }
 
     @PostMapping("/orders/{orderId}/pay")
@@ -50,27 +73,26 @@ public class OrderController {
             @PathVariable Long orderId,
             @RequestBody PayRequest req
     ) {
-        return ResponseEntity.ok(orderService.pay(orderId, req.result()));
+        if (!paymentCallbackIngestor.isEnabled()) {
+            return ResponseEntity.ok(orderService.pay(orderId, req.result()));
+        }
+        // 비동기 모드: 콜백을 저장(커밋)한 뒤 202. 반영 결과는 아직 모르므로 본문은 비운다.
+        paymentCallbackIngestor.accept(orderId, req.result());
+        return ResponseEntity.accepted().build();
     }
 
     @GetMapping("/orders/me")
-    public ResponseEntity<List<OrderEntity>> myOrders(Authentication authentication) {
-        String email = authentication.getName();
-        Long userId = userRepository.findByEmail(email)
-            .orElseThrow(() -> new IllegalStateException("USER_NOT_FOUND"))
-            .getId();
-        return ResponseEntity.ok(orderService.getMyOrders(userId));
+    public ResponseEntity<OrderPageResponse> myOrders(@AuthenticationPrincipal UserPrincipal principal,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "" + OrderService.MY_ORDERS_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(orderService.getMyOrders(principal.getUserId(), cursor, size));
     }
 
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<OrderEntity> myOrder(
-        Authentication authentication,
+        @AuthenticationPrincipal UserPrincipal principal,
         @PathVariable Long orderId
     ) {
-        String email = authentication.getName();
-    Long userId = userRepository.findByEmail(email)
-        .orElseThrow(() -> new IllegalStateException("USER_NOT_FOUND"))
-        .getId();
-    return ResponseEntity.ok(orderService.getMyOrder(userId, orderId));
+        return ResponseEntity.ok(orderService.getMyOrder(principal.getUserId(), orderId));
     }
 }
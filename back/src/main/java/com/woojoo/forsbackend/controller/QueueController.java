@@ -0,0 +1,41 @@
+package com.woojoo.forsbackend.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.woojoo.forsbackend.dto.QueueTicketResponse;
+import com.woojoo.forsbackend.security.UserPrincipal;
+import com.woojoo.forsbackend.service.AdmissionQueueService;
+
+@RestController
+@RequestMapping("/api/drops/{dropEventId}/queue")
+public class QueueController {
+
+    private final AdmissionQueueService admissionQueueService;
+
+    public QueueController(AdmissionQueueService admissionQueueService) {
+        this.admissionQueueService = admissionQueueService;
+    }
+
+    // 대기열 진입 (이미 있으면 기존 티켓)
+    @PostMapping
+    public ResponseEntity<QueueTicketResponse> join(@PathVariable Long dropEventId,
+                                                    @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(admissionQueueService.join(dropEventId, principal.getUserId()));
+    }
+
+    // 내 순번/입장 여부 확인
+    @GetMapping("/{ticket}")
+    public ResponseEntity<QueueTicketResponse> status(
+            @PathVariable Long dropEventId,
+            @PathVariable String ticket,
+            @AuthenticationPrincipal UserPrincipal principal
+    ) {
+        return ResponseEntity.ok(admissionQueueService.status(dropEventId, ticket, principal.getUserId()));
+    }
+}
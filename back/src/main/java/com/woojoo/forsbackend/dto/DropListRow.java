@@ -0,0 +1,17 @@
+package com.woojoo.forsbackend.dto;
+
+import java.time.LocalDateTime;
+
+// 드랍 목록 프로젝션 (드랍 + 상품 + SKU 재고 합계를 한 쿼리로)
+public record DropListRow(
+    Long id,
+    String name,
+    String brand,
+    Integer price,
+    String imageUrl,
+    String description,
+    String status,
+    LocalDateTime startsAt,
+    LocalDateTime endsAt,
+    Number remainingQty
+) {}
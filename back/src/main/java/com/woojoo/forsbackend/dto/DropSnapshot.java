@@ -0,0 +1,10 @@
+package com.woojoo.forsbackend.dto;
+
+// 주문 경로에서 쓰는 드랍 요약 (판매 구간을 epoch millis로 미리 계산해 둠)
+public record DropSnapshot(Long id, String status, long startsAtMillis, long endsAtMillis, int stockBuckets,
+                           long loadedAtMillis) {
+
+    public boolean isLiveAt(long nowMillis) {
+        return "LIVE".equals(status) && nowMillis >= startsAtMillis && nowMillis <= endsAtMillis;
+    }
+}
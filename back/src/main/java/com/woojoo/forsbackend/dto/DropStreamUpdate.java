@@ -0,0 +1,10 @@
+package com.woojoo.forsbackend.dto;
+
+import java.util.Map;
+
+// SSE로 내보내는 스냅샷. status는 바뀐 경우에만, stocks는 SKU별 남은 재고 전체 (변화분이 아니라 절대값)
+public record DropStreamUpdate(
+    Long dropEventId,
+    String status,
+    Map<Long, Long> stocks
+) {}
@@ -0,0 +1,9 @@
+package com.woojoo.forsbackend.dto;
+
+import java.util.List;
+
+// nextCursor가 null이면 마지막 페이지
+public record OrderPageResponse(
+    List<OrderSummary> items,
+    String nextCursor
+) {}
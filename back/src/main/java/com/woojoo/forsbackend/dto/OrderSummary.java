@@ -0,0 +1,14 @@
+package com.woojoo.forsbackend.dto;
+
+import java.time.LocalDateTime;
+
+// 주문 목록용 projection (엔티티 대신 필요한 컬럼만)
+public record OrderSummary(
+    Long id,
+    Long userId,
+    Long dropEventId,
+    Long skuId,
+    String status,
+    LocalDateTime expiresAt,
+    LocalDateTime createdAt
+) {}
@@ -0,0 +1,3 @@
+package com.woojoo.forsbackend.dto;
+
+public record QueueTicketResponse(String ticket, String status, Long position) {}
@@ -0,0 +1,3 @@
+package com.woojoo.forsbackend.dto;
+
+public record SkuStock(Long dropEventId, Long skuId, Long remainingQty) {}
@@ -0,0 +1,3 @@
+package com.woojoo.forsbackend.dto;
+
+public record StockKey(Long dropEventId, Long skuId) {}
@@ -2,6 +2,9 @@ package com.woojoo.forsbackend.entity;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,6 +12,8 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "drop_events")
 public class DropEventEntity {
     
@@ -28,6 +33,10 @@ public class DropEventEntity {
     @Column(name = "ends_at", nullable = false)
     private LocalDateTime endsAt;
 
+    // 재고 행을 몇 개의 버킷으로 나눌지 (1이면 SKU당 한 행)
+    @Column(name = "stock_buckets", nullable = false)
+    private Integer stockBuckets = 1;
+
     @Column(name = "created_at", nullable = false, insertable = false, updatable = false)
     private LocalDateTime createdAt;
 
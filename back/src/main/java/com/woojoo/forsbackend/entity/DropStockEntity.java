@@ -29,6 +29,10 @@ public class DropStockEntity {
     @Column(name = "sku_id", nullable = false)
     private Long skuId;
 
+    // 같은 SKU 재고를 여러 행으로 나눴을 때의 버킷 번호 (0부터)
+    @Column(name = "bucket", nullable = false)
+    private Integer bucket = 0;
+
     @Column(name = "remaining_qty", nullable = false)
     private Integer remainingQty;
 
@@ -0,0 +1,38 @@
+package com.woojoo.forsbackend.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/*
+멱등키 저장소. 원문 키 대신 SHA-256(userId:key) 32바이트를 키로 쓰고,
+TTL이 지나면 IdempotencyLookupService가 주기적으로 지운다.
+*/
+@Getter
+@Setter
+@Entity
+@Table(name = "idempotency_keys")
+public class IdempotencyKeyEntity {
+
+    @Id
+    @Column(name = "key_hash", columnDefinition = "BINARY(32)")
+    private byte[] keyHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // 처음 돌려준 CreateOrderResponse(JSON)
+    @Column(name = "response", nullable = false, length = 500)
+    private String response;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
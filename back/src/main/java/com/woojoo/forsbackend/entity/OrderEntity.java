@@ -13,7 +13,7 @@ import lombok.Setter;
 @Table(name = "orders")
 public class OrderEntity {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @Tsid
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -28,8 +28,9 @@ public class OrderEntity {
     @Column(name = "status", nullable = false, length = 30)
     private String status;
 
-    @Column(name = "idempotency_key", length = 100)
-    private String idempotencyKey;
+    // 메모리 재고 모드에서 drop_stocks 차감이 아직 반영되지 않은 주문
+    @Column(name = "stock_pending", nullable = false)
+    private Boolean stockPending = false;
 
     @Column(name = "expires_at", nullable = false)
     private LocalDateTime expiresAt;
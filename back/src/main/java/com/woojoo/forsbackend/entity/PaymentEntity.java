@@ -11,7 +11,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "payments")
 public class PaymentEntity {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Id @Tsid
     private Long id;
 
     @Column(name = "order_id", nullable = false, unique = true)
@@ -0,0 +1,14 @@
+package com.woojoo.forsbackend.entity;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+// 애플리케이션에서 시간순 ID를 만들어 넣는다. (IDENTITY와 달리 insert 배치가 가능)
+@IdGeneratorType(TsidGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface Tsid {}
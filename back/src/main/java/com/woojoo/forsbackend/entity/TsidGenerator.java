@@ -0,0 +1,63 @@
+package com.woojoo.forsbackend.entity;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/*
+시간순 정렬되는 Long ID (Snowflake 방식)
+[41bit: 2025-01-01 기준 ms][5bit: 노드 ID][7bit: 같은 ms 안의 순번]
+합쳐서 53bit라 프론트(JS Number)에서도 정밀도 손실 없이 다룰 수 있다.
+노드 ID는 IdGeneratorConfig가 fors.id.node-id로 설정한다.
+Hibernate가 직접 만드는 생성기라 빈으로 주입받을 수 없어서 노드 ID는 JVM당 한 번만 정해진다.
+설정 전에 ID를 만들면 0으로 고정되고, 이후 다른 값으로 바꾸려 하면 예외가 난다. (같은 노드에서 ID가 섞이지 않게)
+*/
+public class TsidGenerator implements IdentifierGenerator {
+
+    private static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+    private static final int NODE_BITS = 5;
+    private static final int SEQUENCE_BITS = 7;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+    private static final long UNSET = -1L;
+
+    private static final AtomicLong NODE = new AtomicLong(UNSET);
+    private static long lastMillis = -1L;
+    private static long sequence;
+
+    public static void configureNode(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE) {
+            throw new IllegalArgumentException("fors.id.node-id must be between 0 and " + MAX_NODE);
+        }
+        if (!NODE.compareAndSet(UNSET, nodeId) && NODE.get() != nodeId) {
+            throw new IllegalStateException("node id is already " + NODE.get() + ", cannot change it to " + nodeId);
+        }
+    }
+
+    public static synchronized long nextId() {
+        NODE.compareAndSet(UNSET, 0L);
+        long node = NODE.get();
+        long now = System.currentTimeMillis();
+        // 시계가 뒤로 가면 마지막 시각을 계속 사용한다.
+        if (now < lastMillis) {
+            now = lastMillis;
+        }
+        if (now == lastMillis) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                // 같은 ms 안의 순번을 다 쓰면 다음 ms로 넘긴다.
+                now = lastMillis + 1;
+            }
+        } else {
+            sequence = 0;
+        }
+        lastMillis = now;
+        return ((now - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | sequence;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return nextId();
+    }
+}
@@ -0,0 +1,3 @@
+package com.woojoo.forsbackend.event;
+
+public record DropStatusChangedEvent(Long dropEventId, String status) {}
@@ -0,0 +1,11 @@
+package com.woojoo.forsbackend.event;
+
+import java.time.LocalDateTime;
+
+/*
+outbox를 거쳐 발행되는 주문 상태 전환 (커밋된 것만, 최소 한 번 전달)
+같은 이벤트가 다시 올 수 있으므로 구독자는 outboxId로 중복을 걸러야 한다.
+결제 성공(PAID)은 주문 행을 읽지 않고 전환하므로 userId/dropEventId/skuId가 null이다.
+*/
+public record OrderStatusChangedEvent(Long outboxId, Long orderId, String status,
+                                      Long userId, Long dropEventId, Long skuId, LocalDateTime occurredAt) {}
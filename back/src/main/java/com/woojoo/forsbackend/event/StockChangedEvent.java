@@ -0,0 +1,4 @@
+package com.woojoo.forsbackend.event;
+
+// 커밋된 재고 변화 (판매 -1, 복구 +N)
+public record StockChangedEvent(Long dropEventId, Long skuId, int delta) {}
@@ -1,7 +1,61 @@
 package com.woojoo.forsbackend.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.woojoo.forsbackend.dto.DropListRow;
 import com.woojoo.forsbackend.entity.DropEventEntity;
 
-public interface DropEventRepository extends JpaRepository<DropEventEntity, Long> {}
\ No newline at end of file
+public interface DropEventRepository extends JpaRepository<DropEventEntity, Long> {
+    List<DropEventEntity> findByStatus(String status);
+
+    List<DropEventEntity> findByStatusNot(String status);
+
+    // 시작 시각이 지났고 아직 SCHEDULED일 때만 LIVE로 (여러 노드가 동시에 불러도 한 번만 1이 나옴)
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE DropEventEntity e
+        SET e.status = 'LIVE'
+        WHERE e.id = :id
+          AND e.status = 'SCHEDULED'
+          AND e.startsAt <= :now
+          AND e.endsAt > :now
+    """)
+    int startIfScheduled(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE DropEventEntity e
+        SET e.status = 'ENDED'
+        WHERE e.id = :id
+          AND e.status <> 'ENDED'
+          AND e.endsAt <= :now
+    """)
+    int endIfOver(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // 전환 시도 뒤 실제로 반영된 상태 확인용
+    @Query("SELECT e.status FROM DropEventEntity e WHERE e.id = :id")
+    String findStatusById(@Param("id") Long id);
+
+    // 드랍 목록 한 번에 (드랍 수와 무관하게 쿼리 1번)
+    @Query("""
+        SELECT new com.woojoo.forsbackend.dto.DropListRow(
+            e.id, p.name, p.brand, p.price, p.imageUrl, p.description,
+            e.status, e.startsAt, e.endsAt, COALESCE(SUM(s.remainingQty), 0))
+        FROM DropEventEntity e
+        JOIN e.product p
+        LEFT JOIN DropStockEntity s ON s.dropEvent = e
+        GROUP BY e.id, p.id, p.name, p.brand, p.price, p.imageUrl, p.description,
+            e.status, e.startsAt, e.endsAt
+        ORDER BY e.id
+    """)
+    List<DropListRow> findListRows();
+}
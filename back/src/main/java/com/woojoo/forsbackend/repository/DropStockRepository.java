@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.woojoo.forsbackend.dto.SkuStock;
 import com.woojoo.forsbackend.entity.DropStockEntity;
 
 public interface DropStockRepository extends JpaRepository<DropStockEntity, Long> {
@@ -19,24 +20,65 @@ public interface DropStockRepository extends JpaRepository<DropStockEntity, Long
         SET s.remainingQty = s.remainingQty - 1
         WHERE s.dropEvent.id = :dropEventId
           AND s.skuId = :skuId
+          AND s.bucket = :bucket
           AND s.remainingQty > 0
     """)
     int decreaseIfAvailable(@Param("dropEventId") Long dropEventId,
-                            @Param("skuId") Long skuId);
+                            @Param("skuId") Long skuId,
+                            @Param("bucket") int bucket);
 
+    // 만료 주문을 (드랍, SKU)별로 모아 한 번에 복구
     @Modifying
     @Transactional
     @Query("""
         UPDATE DropStockEntity s
-        SET s.remainingQty = s.remainingQty + 1
+        SET s.remainingQty = s.remainingQty + :qty
         WHERE s.dropEvent.id = :dropEventId
           AND s.skuId = :skuId
+          AND s.bucket = :bucket
     """)
-    int increase(@Param("dropEventId") Long dropEventId,
-                 @Param("skuId") Long skuId);
-                 
+    int increaseBy(@Param("dropEventId") Long dropEventId,
+                   @Param("skuId") Long skuId,
+                   @Param("bucket") int bucket,
+                   @Param("qty") int qty);
+
+    // 메모리 재고 모드의 배치 반영용 (재고 판단은 이미 메모리에서 끝남)
+    @Modifying
+    @Transactional
+    @Query("""
+        UPDATE DropStockEntity s
+        SET s.remainingQty = s.remainingQty - :qty
+        WHERE s.dropEvent.id = :dropEventId
+          AND s.skuId = :skuId
+          AND s.bucket = :bucket
+    """)
+    int decreaseBy(@Param("dropEventId") Long dropEventId,
+                   @Param("skuId") Long skuId,
+                   @Param("bucket") int bucket,
+                   @Param("qty") int qty);
+
     @Query("SELECT COALESCE(SUM(s.remainingQty), 0) FROM DropStockEntity s WHERE s.dropEvent.id = :dropEventId")
     Integer sumRemainingQty(@Param("dropEventId") Long dropEventId);
 
+    // 지표용: LIVE 드랍의 SKU별 남은 재고 (버킷 합)
+    @Query("""
+        SELECT new com.woojoo.forsbackend.dto.SkuStock(s.dropEvent.id, s.skuId, SUM(s.remainingQty))
+        FROM DropStockEntity s
+        WHERE s.dropEvent.status = 'LIVE'
+        GROUP BY s.dropEvent.id, s.skuId
+    """)
+    List<SkuStock> findLiveSkuStocks();
+
+    // SSE 스냅샷용: 드랍 하나의 SKU별 남은 재고 (버킷 합)
+    @Query("""
+        SELECT new com.woojoo.forsbackend.dto.SkuStock(s.dropEvent.id, s.skuId, SUM(s.remainingQty))
+        FROM DropStockEntity s
+        WHERE s.dropEvent.id = :dropEventId
+        GROUP BY s.dropEvent.id, s.skuId
+    """)
+    List<SkuStock> findSkuStocks(@Param("dropEventId") Long dropEventId);
+
     List<DropStockEntity> findByDropEvent_Id(Long dropEventId);
+
+    List<DropStockEntity> findByDropEvent_IdAndSkuIdOrderByBucket(Long dropEventId, Long skuId);
 }
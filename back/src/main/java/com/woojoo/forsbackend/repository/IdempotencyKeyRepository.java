@@ -0,0 +1,32 @@
+package com.woojoo.forsbackend.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.entity.IdempotencyKeyEntity;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, byte[]> {
+
+    @Query(value = """
+            SELECT response FROM idempotency_keys
+            WHERE key_hash = :keyHash
+                AND user_id = :userId
+        """, nativeQuery = true)
+    Optional<String> findResponse(@Param("keyHash") byte[] keyHash, @Param("userId") Long userId);
+
+    // 재시작 시 Bloom filter 예열용
+    @Query(value = "SELECT key_hash FROM idempotency_keys WHERE expires_at > :now", nativeQuery = true)
+    List<byte[]> findLiveKeyHashes(@Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
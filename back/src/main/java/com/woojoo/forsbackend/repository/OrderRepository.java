@@ -4,12 +4,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.woojoo.forsbackend.dto.OrderSummary;
+import com.woojoo.forsbackend.dto.PayResponse;
+import com.woojoo.forsbackend.dto.StockKey;
 import com.woojoo.forsbackend.entity.OrderEntity;
 
 /* 
@@ -17,50 +21,59 @@ import com.woojoo.forsbackend.entity.OrderEntity;
 두 번째 파라미터 = 그 엔티티의 PK 타입 (엔티티 안의 @Id 필드 타입을 보고 결정)
 */
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
-    Optional<OrderEntity> findByIdempotencyKey(String idempotencyKey);
-
-    /* 
-    pay()가 단순히 FAIL이면 +1 -> PAYMENT_PENDING → CANCELED로 상태가 실제로 변경된 경우에만 재고 +1
-    */
-    @Modifying
-    @Transactional
-    @Query("""
-            UPDATE OrderEntity o
-            SET o.status = 'CANCELED'
-            WHERE o.id = :orderId
-                AND o.status = 'PAYMENT_PENDING'
-            """)
-    int cancelIfPending(@Param("orderId") Long orderId);
-
-
-    @Query("""
-            SELECT o FROM OrderEntity o
-            WHERE o.status = 'PAYMENT_PENDING'
-            AND o.expiresAt < :now
-            """)
-            List<OrderEntity> findExpiredPending(@Param("now") LocalDateTime now);
+    // 만료된 대기 주문을 (expires_at, id) 커서 뒤에서 한 묶음만 잠그고 가져온다. (다른 노드가 잡은 행은 건너뜀)
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE status = 'PAYMENT_PENDING'
+                AND expires_at <= :now
+                AND (expires_at > :afterExpiresAt OR (expires_at = :afterExpiresAt AND id > :afterId))
+            ORDER BY expires_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OrderEntity> lockExpiredPending(@Param("now") LocalDateTime now,
+                                         @Param("afterExpiresAt") LocalDateTime afterExpiresAt,
+                                         @Param("afterId") Long afterId,
+                                         @Param("limit") int limit);
 
     @Modifying
     @Transactional
     @Query("""
         UPDATE OrderEntity o
         SET o.status = 'EXPIRED'
-        WHERE o.id = :orderId
+        WHERE o.id IN :orderIds
             AND o.status = 'PAYMENT_PENDING'
     """)
-    int expireIfPending(@Param("orderId") Long orderId);
+    int expireAllIfPending(@Param("orderIds") List<Long> orderIds);
+
+    // 가장 먼저 만료될 대기 주문 시각 (만료 타이머 재적재용)
+    @Query("SELECT MIN(o.expiresAt) FROM OrderEntity o WHERE o.status = 'PAYMENT_PENDING'")
+    LocalDateTime findNextPendingExpiry();
 
 
-    // 주문 상태가 PAYMENT_PENDING일 때만 PAID로 변경
+    // 결제 결과를 주문/결제 두 테이블에 UPDATE 한 번으로 반영 (PAYMENT_PENDING일 때만)
     @Modifying
     @Transactional
-    @Query("""
-            UPDATE OrderEntity o
-            SET o.status = 'PAID'
+    @Query(value = """
+            UPDATE orders o
+            JOIN payments p ON p.order_id = o.id
+            SET o.status = :orderStatus,
+                p.status = :paymentStatus
             WHERE o.id = :orderId
-            AND o.status = 'PAYMENT_PENDING'
+                AND o.status = 'PAYMENT_PENDING'
+            """, nativeQuery = true)
+    int settleIfPending(@Param("orderId") Long orderId,
+                        @Param("orderStatus") String orderStatus,
+                        @Param("paymentStatus") String paymentStatus);
+
+    // 이미 처리된 결제 요청에 현재 상태를 돌려줄 때
+    @Query("""
+            SELECT new com.woojoo.forsbackend.dto.PayResponse(o.id, o.status, p.status)
+            FROM OrderEntity o, PaymentEntity p
+            WHERE p.orderId = o.id
+                AND o.id = :orderId
         """)
-    int paidIfPending(@Param("orderId") Long orderId);
+    Optional<PayResponse> findPayState(@Param("orderId") Long orderId);
 
     // PAID일 때만 SHIPPING으로 전이
     @Modifying
@@ -73,13 +86,99 @@ public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
         """)
     int shipIfPaid(@Param("orderId") Long orderId);
 
-    // 내 주문목록을 최신순으로 가져옴
-    List<OrderEntity> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // 메모리 재고 모드: drop_stocks에 아직 반영되지 않은 주문의 SKU 목록
+    @Query("""
+            SELECT DISTINCT new com.woojoo.forsbackend.dto.StockKey(o.dropEventId, o.skuId)
+            FROM OrderEntity o
+            WHERE o.stockPending = true
+        """)
+    List<StockKey> findStockPendingKeys();
+
+    @Query("""
+            SELECT COUNT(o) FROM OrderEntity o
+            WHERE o.dropEventId = :dropEventId
+                AND o.skuId = :skuId
+                AND o.stockPending = true
+        """)
+    long countStockPending(@Param("dropEventId") Long dropEventId, @Param("skuId") Long skuId);
+
+    // 지표용: 결제 대기 주문 수
+    long countByStatus(String status);
+
+    // 지표용: 메모리 재고 모드에서 아직 drop_stocks에 반영되지 않은 주문 수
+    @Query("SELECT COUNT(o) FROM OrderEntity o WHERE o.stockPending = true")
+    long countAllStockPending();
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE OrderEntity o
+            SET o.stockPending = false
+            WHERE o.dropEventId = :dropEventId
+                AND o.skuId = :skuId
+                AND o.stockPending = true
+        """)
+    int markStockSynced(@Param("dropEventId") Long dropEventId, @Param("skuId") Long skuId);
+
+    // 내 주문목록을 최신순으로 한 페이지씩 (idx_orders_user_created 인덱스만 읽음)
+    @Query("""
+            SELECT new com.woojoo.forsbackend.dto.OrderSummary(
+                o.id, o.userId, o.dropEventId, o.skuId, o.status, o.expiresAt, o.createdAt)
+            FROM OrderEntity o
+            WHERE o.userId = :userId
+                AND (o.createdAt < :createdAt
+                    OR (o.createdAt = :createdAt AND o.id < :id))
+            ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<OrderSummary> findMyPageBefore(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
     // 내 주문 상세를 나만 알 수 있게 함
     Optional<OrderEntity> findByIdAndUserId(Long id, Long userId);
-    // 관리자 주문 조회 (전체)
-    List<OrderEntity> findAllByOrderByCreatedAtDesc();
+    // 관리자 주문 조회 (전체) - (created_at, id) 커서 이후 한 페이지
+    @Query("""
+            SELECT new com.woojoo.forsbackend.dto.OrderSummary(
+                o.id, o.userId, o.dropEventId, o.skuId, o.status, o.expiresAt, o.createdAt)
+            FROM OrderEntity o
+            WHERE o.createdAt < :createdAt
+                OR (o.createdAt = :createdAt AND o.id < :id)
+            ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<OrderSummary> findPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                      @Param("id") Long id,
+                                      Pageable pageable);
+
     // 관리자 주문 조회 (상태별)
-    List<OrderEntity> findByStatusOrderByCreatedAtDesc(String status);
+    @Query("""
+            SELECT new com.woojoo.forsbackend.dto.OrderSummary(
+                o.id, o.userId, o.dropEventId, o.skuId, o.status, o.expiresAt, o.createdAt)
+            FROM OrderEntity o
+            WHERE o.status = :status
+                AND (o.createdAt < :createdAt
+                    OR (o.createdAt = :createdAt AND o.id < :id))
+            ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<OrderSummary> findPageByStatusBefore(@Param("status") String status,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable pageable);
+
+    // 관리자 주문 조회 (사용자 + 상태, idx_orders_user_created 범위에서 상태만 거름)
+    @Query("""
+            SELECT new com.woojoo.forsbackend.dto.OrderSummary(
+                o.id, o.userId, o.dropEventId, o.skuId, o.status, o.expiresAt, o.createdAt)
+            FROM OrderEntity o
+            WHERE o.userId = :userId
+                AND o.status = :status
+                AND (o.createdAt < :createdAt
+                    OR (o.createdAt = :createdAt AND o.id < :id))
+            ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<OrderSummary> findUserPageByStatusBefore(@Param("userId") Long userId,
+                                                  @Param("status") String status,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
 
 }
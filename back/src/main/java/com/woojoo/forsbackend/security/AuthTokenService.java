@@ -0,0 +1,109 @@
+package com.woojoo.forsbackend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+
+/*
+fors.auth.mode=token 일 때 쓰는 무상태 로그인 토큰.
+형식: base64url(userId|email|ROLE_A,ROLE_B|만료epochSec) + "." + base64url(HMAC-SHA256)
+서버 간 공유 저장소 없이 같은 키만 있으면 어느 노드에서나 검증된다.
+*/
+@Service
+public class AuthTokenService {
+
+    public static final String COOKIE_NAME = "FORS_TOKEN";
+    private static final String HMAC = "HmacSHA256";
+
+    private final boolean enabled;
+    private final byte[] secret;
+    private final Duration ttl;
+
+    public AuthTokenService(@Value("${fors.auth.mode:session}") String mode,
+                            @Value("${fors.auth.token.secret:}") String secret,
+                            @Value("${fors.auth.token.ttl-minutes:720}") long ttlMinutes) {
+        this.enabled = "token".equalsIgnoreCase(mode);
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        if (enabled && this.secret.length < 32) {
+            throw new IllegalStateException("fors.auth.token.secret must be at least 32 bytes in token mode");
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ResponseCookie issueCookie(UserPrincipal principal) {
+        return ResponseCookie.from(COOKIE_NAME, issue(principal))
+            .httpOnly(true)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(ttl)
+            .build();
+    }
+
+    public String issue(UserPrincipal principal) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String roles = principal.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.joining(","));
+        String payload = principal.getUserId() + "|" + principal.getUsername() + "|" + roles + "|" + expiresAt;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payloadBytes) + "." + encoder.encodeToString(sign(payloadBytes));
+    }
+
+    // 서명이 틀리거나 만료됐으면 null
+    public UserPrincipal verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payloadBytes = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return null;
+        }
+
+        String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", -1);
+        if (parts.length != 4 || Long.parseLong(parts[3]) < System.currentTimeMillis() / 1000) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = parts[2].isEmpty()
+            ? List.of()
+            : Arrays.stream(parts[2].split(",")).map(SimpleGrantedAuthority::new).toList();
+        return new UserPrincipal(Long.valueOf(parts[0]), parts[1], "", authorities);
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(new SecretKeySpec(secret, HMAC));
+            return mac.doFinal(payload);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
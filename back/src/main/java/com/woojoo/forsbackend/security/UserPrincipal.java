@@ -0,0 +1,37 @@
+package com.woojoo.forsbackend.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+// 로그인 때 한 번 읽은 userId를 principal에 같이 들고 다녀서 요청마다 users 조회를 하지 않는다.
+public class UserPrincipal extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+
+    public UserPrincipal(Long userId, String email, String passwordHash,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(email, passwordHash, authorities);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    // 권한이 여러 개면 ADMIN을 우선으로 보여준다.
+    public String primaryRole() {
+        boolean admin = getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        if (admin) {
+            return "ADMIN";
+        }
+        return getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .map(a -> a.substring("ROLE_".length()))
+            .findFirst()
+            .orElse("USER");
+    }
+}
@@ -0,0 +1,137 @@
+package com.woojoo.forsbackend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.woojoo.forsbackend.dto.OrderCursor;
+import com.woojoo.forsbackend.dto.OrderPageResponse;
+import com.woojoo.forsbackend.dto.OrderSummary;
+import com.woojoo.forsbackend.repository.OrderRepository;
+
+/*
+관리자 주문 조회. 목록은 (created_at, id) keyset 페이지, 내보내기는 JDBC 스트리밍(fetch size 고정)이라
+주문 테이블 크기와 상관없이 메모리 사용량이 일정하다.
+*/
+@Service
+public class AdminOrderQueryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int exportFetchSize;
+
+    public AdminOrderQueryService(OrderRepository orderRepository,
+                                  JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  @Value("${fors.admin.export-fetch-size:500}") int exportFetchSize) {
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.exportFetchSize = exportFetchSize;
+    }
+
+    // status, userId는 둘 다 선택. 필터가 바뀌면 커서는 처음(null)부터 다시 받아야 한다.
+    public OrderPageResponse page(String status, Long userId, String cursorToken, int size) {
+        OrderCursor cursor = OrderCursor.decode(cursorToken);
+        PageRequest limit = PageRequest.of(0, Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        boolean byStatus = status != null && !status.isBlank();
+        List<OrderSummary> items;
+        if (userId != null) {
+            items = byStatus
+                ? orderRepository.findUserPageByStatusBefore(userId, status, cursor.createdAt(), cursor.id(), limit)
+                : orderRepository.findMyPageBefore(userId, cursor.createdAt(), cursor.id(), limit);
+        } else {
+            items = byStatus
+                ? orderRepository.findPageByStatusBefore(status, cursor.createdAt(), cursor.id(), limit)
+                : orderRepository.findPageBefore(cursor.createdAt(), cursor.id(), limit);
+        }
+
+        String next = items.size() < limit.getPageSize() ? null : OrderCursor.after(items.get(items.size() - 1)).encode();
+        return new OrderPageResponse(items, next);
+    }
+
+    // format: ndjson(기본) | csv
+    public void export(String status, Long userId, String format, OutputStream out) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        boolean filtered = status != null && !status.isBlank();
+        List<String> where = new ArrayList<>();
+        if (userId != null) {
+            where.add("user_id = ?");
+        }
+        if (filtered) {
+            where.add("status = ?");
+        }
+        String sql = """
+            SELECT id, user_id, drop_event_id, sku_id, status, expires_at, created_at
+            FROM orders
+            """ + (where.isEmpty() ? "" : "WHERE " + String.join(" AND ", where) + "\n") + "ORDER BY created_at DESC, id DESC";
+
+        write(out, csv ? "id,userId,dropEventId,skuId,status,expiresAt,createdAt\n" : "");
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // fetch size를 주면 MariaDB 드라이버가 결과를 한 번에 다 받지 않고 나눠서 읽는다.
+            ps.setFetchSize(exportFetchSize);
+            int index = 1;
+            if (userId != null) {
+                ps.setLong(index++, userId);
+            }
+            if (filtered) {
+                ps.setString(index, status);
+            }
+            return ps;
+        }, (ResultSet rs) -> {
+            OrderSummary row = toSummary(rs);
+            write(out, csv ? toCsv(row) : toJsonLine(row));
+        });
+    }
+
+    private static OrderSummary toSummary(ResultSet rs) throws SQLException {
+        return new OrderSummary(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getLong("drop_event_id"),
+            rs.getLong("sku_id"),
+            rs.getString("status"),
+            rs.getObject("expires_at", LocalDateTime.class),
+            rs.getObject("created_at", LocalDateTime.class));
+    }
+
+    private static String toCsv(OrderSummary row) {
+        return row.id() + "," + row.userId() + "," + row.dropEventId() + "," + row.skuId() + ","
+            + row.status() + "," + row.expiresAt() + "," + row.createdAt() + "\n";
+    }
+
+    private String toJsonLine(OrderSummary row) {
+        try {
+            return objectMapper.writeValueAsString(row) + "\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void write(OutputStream out, String text) {
+        try {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // 클라이언트가 끊으면 쿼리도 바로 멈춘다.
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.woojoo.forsbackend.dto.DropSnapshot;
+import com.woojoo.forsbackend.dto.QueueTicketResponse;
+import com.woojoo.forsbackend.event.DropStatusChangedEvent;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+
+/*
+드랍별 대기열.
+티켓을 받은 순서대로 입장시키고, 동시에 createOrder에 들어갈 수 있는 인원은
+min(max-admitted, 남은 재고 * stock-factor)로 제한한다.
+재고가 0이 되면 대기 중인 티켓은 바로 SOLD_OUT으로 정리한다.
+대기열은 LIVE/SCHEDULED 드랍에만 만들고(입장은 LIVE 구간에만), 드랍이 끝나거나 티켓이 모두 빠지면 지운다.
+*/
+@Service
+public class AdmissionQueueService {
+
+    private final DropStockRepository dropStockRepository;
+    private final DropSnapshotCache dropSnapshotCache;
+    private final boolean enabled;
+    private final int maxAdmitted;
+    private final double stockFactor;
+    private final long admitTtlMillis;
+
+    private final Map<Long, DropQueue> queues = new ConcurrentHashMap<>();
+
+    public AdmissionQueueService(DropStockRepository dropStockRepository,
+                                 DropSnapshotCache dropSnapshotCache,
+                                 @Value("${fors.queue.enabled:false}") boolean enabled,
+                                 @Value("${fors.queue.max-admitted:200}") int maxAdmitted,
+                                 @Value("${fors.queue.stock-factor:2.0}") double stockFactor,
+                                 @Value("${fors.queue.admit-ttl-ms:30000}") long admitTtlMillis) {
+        this.dropStockRepository = dropStockRepository;
+        this.dropSnapshotCache = dropSnapshotCache;
+        this.enabled = enabled;
+        this.maxAdmitted = maxAdmitted;
+        this.stockFactor = stockFactor;
+        this.admitTtlMillis = admitTtlMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public QueueTicketResponse join(Long dropEventId, Long userId) {
+        requireEnabled();
+        // 클라이언트가 보낸 id라서 실제로 열려 있거나 열릴 드랍만 대기열을 만든다.
+        DropSnapshot drop = dropSnapshotCache.get(dropEventId);
+        if (drop == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "DROP_NOT_FOUND");
+        }
+        if (!"LIVE".equals(drop.status()) && !"SCHEDULED".equals(drop.status())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "DROP_NOT_LIVE");
+        }
+        Ticket[] issued = new Ticket[1];
+        // 빈 대기열 정리(admit)와 겹치지 않게 맵 항목을 잡은 채로 티켓을 넣는다.
+        DropQueue queue = queues.compute(dropEventId, (id, current) -> {
+            DropQueue q = current == null ? new DropQueue() : current;
+            if (!q.soldOut) {
+                // 같은 사용자가 다시 줄을 서면 기존 티켓을 돌려준다.
+                issued[0] = q.byUser.computeIfAbsent(userId, u -> {
+                    Ticket t = new Ticket(UUID.randomUUID().toString(), q.issued.incrementAndGet(), u);
+                    q.tickets.put(t.id, t);
+                    q.waiting.add(t);
+                    return t;
+                });
+            }
+            return q;
+        });
+        if (issued[0] == null) {
+            return new QueueTicketResponse(null, "SOLD_OUT", 0L);
+        }
+        return toResponse(queue, issued[0]);
+    }
+
+    // 끝난 드랍의 대기열은 티켓째 버린다. (남은 티켓으로는 더 이상 주문할 수 없음)
+    @EventListener
+    public void onDropStatusChanged(DropStatusChangedEvent event) {
+        if ("ENDED".equals(event.status())) {
+            queues.remove(event.dropEventId());
+        }
+    }
+
+    public QueueTicketResponse status(Long dropEventId, String ticketId, Long userId) {
+        requireEnabled();
+        DropQueue queue = queues.get(dropEventId);
+        Ticket ticket = queue == null ? null : queue.tickets.get(ticketId);
+        if (ticket == null || !ticket.userId.equals(userId)) {
+            if (queue != null && queue.soldOut) {
+                return new QueueTicketResponse(ticketId, "SOLD_OUT", 0L);
+            }
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "TICKET_NOT_FOUND");
+        }
+        return toResponse(queue, ticket);
+    }
+
+    // 입장한 티켓만 createOrder로 보낸다. (ADMITTED -> IN_USE)
+    public void enter(Long dropEventId, String ticketId, Long userId) {
+        DropQueue queue = queues.get(dropEventId);
+        if (queue != null && queue.soldOut) {
+            throw new IllegalStateException("SOLD_OUT");
+        }
+        Ticket ticket = queue == null || ticketId == null ? null : queue.tickets.get(ticketId);
+        if (ticket == null || !ticket.userId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "QUEUE_TICKET_REQUIRED");
+        }
+        synchronized (ticket) {
+            if (!"ADMITTED".equals(ticket.status)) {
+                throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "NOT_ADMITTED");
+            }
+            ticket.status = "IN_USE";
+        }
+    }
+
+    // 주문 처리가 끝나면(성공/실패 무관) 자리를 반납한다.
+    public void leave(Long dropEventId, String ticketId) {
+        DropQueue queue = queues.get(dropEventId);
+        if (queue != null) {
+            finish(queue, queue.tickets.get(ticketId));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fors.queue.tick-ms:200}")
+    public void admit() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        queues.forEach((dropEventId, queue) -> {
+            // 티켓이 모두 빠진 대기열은 지운다. (품절 표시가 남은 대기열은 드랍이 끝날 때 지움)
+            if (!queue.soldOut && queue.tickets.isEmpty()) {
+                queues.computeIfPresent(dropEventId, (id, q) -> q == queue && !q.soldOut && q.tickets.isEmpty() ? null : q);
+                return;
+            }
+            // 열리기 전(SCHEDULED)에는 줄만 세운다. 입장시켜도 createOrder가 DROP_NOT_LIVE로 티켓만 써 버린다.
+            DropSnapshot drop = dropSnapshotCache.get(dropEventId);
+            if (drop == null || !drop.isLiveAt(now)) {
+                return;
+            }
+            int remaining = dropStockRepository.sumRemainingQty(dropEventId);
+            if (remaining <= 0) {
+                drainSoldOut(queue);
+                return;
+            }
+            queue.soldOut = false;
+
+            // 입장만 하고 주문하지 않은 티켓은 자리를 비워준다.
+            for (Ticket ticket : queue.tickets.values()) {
+                if ("ADMITTED".equals(ticket.status) && now - ticket.admittedAt > admitTtlMillis) {
+                    finish(queue, ticket);
+                }
+            }
+
+            long allowed = Math.min(maxAdmitted, (long) Math.ceil(remaining * stockFactor));
+            while (queue.admitted.get() < allowed) {
+                Ticket next = queue.waiting.poll();
+                if (next == null) {
+                    break;
+                }
+                synchronized (next) {
+                    if (!"WAITING".equals(next.status)) {
+                        continue;
+                    }
+                    next.status = "ADMITTED";
+                    next.admittedAt = now;
+                }
+                queue.admitted.incrementAndGet();
+                queue.admittedSeq.set(next.seq);
+            }
+        });
+    }
+
+    private void drainSoldOut(DropQueue queue) {
+        queue.soldOut = true;
+        Ticket ticket;
+        while ((ticket = queue.waiting.poll()) != null) {
+            synchronized (ticket) {
+                ticket.status = "SOLD_OUT";
+            }
+            queue.tickets.remove(ticket.id);
+            queue.byUser.remove(ticket.userId, ticket);
+        }
+    }
+
+    private void finish(DropQueue queue, Ticket ticket) {
+        if (ticket == null || queue.tickets.remove(ticket.id) == null) {
+            return;
+        }
+        queue.byUser.remove(ticket.userId, ticket);
+        synchronized (ticket) {
+            if ("ADMITTED".equals(ticket.status) || "IN_USE".equals(ticket.status)) {
+                queue.admitted.decrementAndGet();
+            }
+            ticket.status = "DONE";
+        }
+    }
+
+    private QueueTicketResponse toResponse(DropQueue queue, Ticket ticket) {
+        String status = ticket.status;
+        long position = "WAITING".equals(status) ? Math.max(ticket.seq - queue.admittedSeq.get(), 1) : 0;
+        return new QueueTicketResponse(ticket.id, status, position);
+    }
+
+    private void requireEnabled() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "QUEUE_DISABLED");
+        }
+    }
+
+    private static final class DropQueue {
+        private final AtomicLong issued = new AtomicLong();
+        private final AtomicLong admittedSeq = new AtomicLong();   // 마지막으로 입장시킨 티켓 번호
+        private final AtomicInteger admitted = new AtomicInteger(); // 입장 후 아직 끝나지 않은 티켓 수
+        private final Queue<Ticket> waiting = new ConcurrentLinkedQueue<>();
+        private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+        private final Map<Long, Ticket> byUser = new ConcurrentHashMap<>();
+        private volatile boolean soldOut;
+    }
+
+    private static final class Ticket {
+        private final String id;
+        private final long seq;
+        private final Long userId;
+        private volatile String status = "WAITING";  // WAITING, ADMITTED, IN_USE, SOLD_OUT, DONE
+        private volatile long admittedAt;
+
+        private Ticket(String id, long seq, Long userId) {
+            this.id = id;
+            this.seq = seq;
+            this.userId = userId;
+        }
+    }
+}
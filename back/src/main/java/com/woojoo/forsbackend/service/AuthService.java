@@ -1,7 +1,9 @@
 package com.woojoo.forsbackend.service;
 
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.woojoo.forsbackend.dto.SignupRequest;
 import com.woojoo.forsbackend.entity.UserEntity;
@@ -9,37 +11,41 @@ import com.woojoo.forsbackend.entity.UserRoleEntity;
 import com.woojoo.forsbackend.repository.UserRepository;
 import com.woojoo.forsbackend.repository.UserRoleRepository;
 
-import jakarta.transaction.Transactional;
-
 @Service
 public class AuthService {
     
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final TransactionTemplate transactionTemplate;
 
     public AuthService(UserRepository userRepository,
                        UserRoleRepository userRoleRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordHashingService passwordHashingService,
+                       TransactionTemplate transactionTemplate) {
         this.userRepository = userRepository;
         this.userRoleRepository = userRoleRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @Transactional
-    public void signup(SignupRequest req) {
+    // 해시는 해시 전용 풀에서 만들고, 저장은 해시가 끝난 뒤 짧은 트랜잭션으로 한다.
+    public CompletableFuture<Void> signup(SignupRequest req) {
         userRepository.findByEmail(req.email()).ifPresent(u -> {
             throw new IllegalStateException("Email already exists");
         });
 
-        UserEntity user = new UserEntity();
-        user.setEmail(req.email());
-        user.setPasswordHash(passwordEncoder.encode(req.password()));
-        UserEntity saved = userRepository.save(user);
-
-        UserRoleEntity role = new UserRoleEntity();
-        role.setUser(saved);
-        role.setRole("USER");
-        userRoleRepository.save(role);
+        return passwordHashingService.encode(req.password())
+            .thenAccept(passwordHash -> transactionTemplate.executeWithoutResult(status -> {
+                UserEntity user = new UserEntity();
+                user.setEmail(req.email());
+                user.setPasswordHash(passwordHash);
+                UserEntity saved = userRepository.save(user);
+
+                UserRoleEntity role = new UserRoleEntity();
+                role.setUser(saved);
+                role.setRole("USER");
+                userRoleRepository.save(role);
+            }));
     }    
 }
@@ -3,12 +3,12 @@ package com.woojoo.forsbackend.service;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.woojoo.forsbackend.repository.UserRepository;
+import com.woojoo.forsbackend.security.UserPrincipal;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService { 
@@ -31,7 +31,7 @@ public class CustomUserDetailsService implements UserDetailsService {
             .map(SimpleGrantedAuthority::new)
             .collect(Collectors.toList());
         
-        // Security가 사용할 “사용자 정보 객체”를 만들어서 반환.
-        return new User(user.getEmail(), user.getPasswordHash(), authorities);
+        // Security가 사용할 “사용자 정보 객체”를 만들어서 반환. (userId까지 담아서 이후 요청은 DB 조회 없이 사용)
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPasswordHash(), authorities);
     }
 }
@@ -0,0 +1,138 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.woojoo.forsbackend.entity.DropEventEntity;
+import com.woojoo.forsbackend.event.DropStatusChangedEvent;
+import com.woojoo.forsbackend.repository.DropEventRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+drop_events의 startsAt/endsAt을 DelayQueue에 올려두고 정확히 그 시각에 상태를 전환한다.
+전환은 조건부 UPDATE라서 여러 노드가 같이 돌아도 DB에는 한 번만 반영되고,
+각 노드는 자기 로컬 캐시(스냅샷, 목록, 메모리 재고)만 갱신한다.
+*/
+@Service
+public class DropLifecycleScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(DropLifecycleScheduler.class);
+
+    private final DropEventRepository dropEventRepository;
+    private final DropLifecycleService dropLifecycleService;
+    private final DropSnapshotCache dropSnapshotCache;
+    private final StockService stockService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DelayQueue<Transition> queue = new DelayQueue<>();
+    private final Set<Transition> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+
+    public DropLifecycleScheduler(DropEventRepository dropEventRepository,
+                                  DropLifecycleService dropLifecycleService,
+                                  DropSnapshotCache dropSnapshotCache,
+                                  StockService stockService,
+                                  ApplicationEventPublisher eventPublisher) {
+        this.dropEventRepository = dropEventRepository;
+        this.dropLifecycleService = dropLifecycleService;
+        this.dropSnapshotCache = dropSnapshotCache;
+        this.stockService = stockService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "drop-lifecycle");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    // 새로 생기거나 시간이 바뀐 드랍을 주기적으로 다시 읽어 큐에 올린다. (기동 직후 한 번 바로 실행)
+    @Scheduled(fixedDelayString = "${fors.drop.lifecycle-rescan-ms:30000}")
+    public void rescan() {
+        for (DropEventEntity drop : dropEventRepository.findByStatusNot("ENDED")) {
+            if (drop.getStartsAt() == null || drop.getEndsAt() == null) {
+                continue;
+            }
+            if ("SCHEDULED".equals(drop.getStatus()) && drop.getEndsAt().isAfter(LocalDateTime.now())) {
+                schedule(new Transition(drop.getId(), "LIVE", toEpochMillis(drop.getStartsAt())));
+            }
+            schedule(new Transition(drop.getId(), "ENDED", toEpochMillis(drop.getEndsAt())));
+        }
+    }
+
+    private void schedule(Transition transition) {
+        if (scheduled.add(transition)) {
+            queue.put(transition);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Transition transition = queue.take();
+                scheduled.remove(transition);
+                apply(transition);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // 실패한 전환은 다음 rescan 때 다시 잡힌다.
+                log.warn("drop status transition failed", e);
+            }
+        }
+    }
+
+    private void apply(Transition transition) {
+        Long dropEventId = transition.dropEventId();
+        boolean changed = "LIVE".equals(transition.status())
+            ? dropLifecycleService.start(dropEventId)
+            : dropLifecycleService.end(dropEventId);
+        // false면 다른 노드가 먼저 바꿨거나, 시각이 바뀌어 아직(또는 더 이상) 전환 대상이 아니다.
+        // 실제 행 상태가 목표 상태일 때만 로컬 캐시를 갱신하고 알린다. (시각이 바뀐 경우는 다음 rescan이 다시 건다)
+        if (!changed && !transition.status().equals(dropEventRepository.findStatusById(dropEventId))) {
+            log.debug("drop {} transition to {} skipped", dropEventId, transition.status());
+            return;
+        }
+        if ("LIVE".equals(transition.status())) {
+            stockService.onDropLive(dropEventId);
+        }
+        // DB 반영은 한 노드만 하지만 로컬 캐시는 모든 노드가 갱신한다.
+        dropSnapshotCache.invalidate(dropEventId);
+        eventPublisher.publishEvent(new DropStatusChangedEvent(dropEventId, transition.status()));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Transition(Long dropEventId, String status, long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.repository.DropEventRepository;
+
+// 드랍 상태 전환. 조건부 UPDATE 한 번으로 끝나고, 이긴 노드만 부가 작업을 한다.
+@Service
+public class DropLifecycleService {
+
+    private final DropEventRepository dropEventRepository;
+    private final StockBucketService stockBucketService;
+
+    public DropLifecycleService(DropEventRepository dropEventRepository, StockBucketService stockBucketService) {
+        this.dropEventRepository = dropEventRepository;
+        this.stockBucketService = stockBucketService;
+    }
+
+    // UPDATE가 drop_events 행 락을 잡은 상태에서 재고 버킷을 나누고 같이 커밋한다.
+    @Transactional
+    public boolean start(Long dropEventId) {
+        if (dropEventRepository.startIfScheduled(dropEventId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        dropEventRepository.findById(dropEventId).ifPresent(stockBucketService::applyBuckets);
+        return true;
+    }
+
+    @Transactional
+    public boolean end(Long dropEventId) {
+        return dropEventRepository.endIfOver(dropEventId, LocalDateTime.now()) == 1;
+    }
+}
@@ -0,0 +1,113 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.woojoo.forsbackend.dto.DropListRow;
+import com.woojoo.forsbackend.dto.DropResponse;
+import com.woojoo.forsbackend.event.DropStatusChangedEvent;
+import com.woojoo.forsbackend.event.StockChangedEvent;
+import com.woojoo.forsbackend.repository.DropEventRepository;
+
+/*
+GET /api/drops 응답을 메모리에 들고 직렬화된 JSON 바이트를 그대로 내려준다.
+재고/상태 이벤트로 해당 드랍만 갱신하고, 다른 노드에서 생긴 변화는 주기적인 전체 갱신(쿼리 1번)으로 맞춘다.
+*/
+@Service
+public class DropListSnapshot {
+
+    private final DropEventRepository dropEventRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, DropResponse> drops = new ConcurrentHashMap<>();
+    private volatile byte[] json;
+    private volatile boolean dirty = true;
+    private volatile boolean loaded;
+
+    public DropListSnapshot(DropEventRepository dropEventRepository, ObjectMapper objectMapper) {
+        this.dropEventRepository = dropEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public byte[] jsonBytes() {
+        if (!loaded) {
+            refresh();
+        }
+        byte[] current = json;
+        if (dirty || current == null) {
+            current = serialize();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${fors.drop.list-refresh-ms:5000}")
+    public void refresh() {
+        Map<Long, DropResponse> fresh = new ConcurrentHashMap<>();
+        for (DropListRow row : dropEventRepository.findListRows()) {
+            fresh.put(row.id(), toDropResponse(row));
+        }
+        drops.keySet().retainAll(fresh.keySet());
+        drops.putAll(fresh);
+        loaded = true;
+        dirty = true;
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        drops.computeIfPresent(event.dropEventId(), (id, drop) -> withRemaining(drop, drop.remainingQty() + event.delta()));
+        dirty = true;
+    }
+
+    @EventListener
+    public void onStatusChanged(DropStatusChangedEvent event) {
+        drops.computeIfPresent(event.dropEventId(), (id, drop) -> withStatus(drop, event.status()));
+        dirty = true;
+    }
+
+    private synchronized byte[] serialize() {
+        if (!dirty && json != null) {
+            return json;
+        }
+        dirty = false;
+        try {
+            json = objectMapper.writeValueAsBytes(new ArrayList<>(new TreeMap<>(drops).values()));
+        } catch (JsonProcessingException e) {
+            dirty = true;
+            throw new IllegalStateException(e);
+        }
+        return json;
+    }
+
+    private static DropResponse toDropResponse(DropListRow row) {
+        return new DropResponse(
+            row.id(),
+            row.name(),
+            row.brand(),
+            row.price(),
+            row.imageUrl(),
+            row.description(),
+            row.status(),
+            row.startsAt().toString(),
+            row.endsAt().toString(),
+            row.remainingQty().intValue()
+        );
+    }
+
+    private static DropResponse withRemaining(DropResponse d, int remainingQty) {
+        return new DropResponse(d.id(), d.name(), d.brand(), d.price(), d.imageUrl(), d.description(),
+            d.status(), d.startsAt(), d.endsAt(), remainingQty);
+    }
+
+    private static DropResponse withStatus(DropResponse d, String status) {
+        return new DropResponse(d.id(), d.name(), d.brand(), d.price(), d.imageUrl(), d.description(),
+            status, d.startsAt(), d.endsAt(), d.remainingQty());
+    }
+}
@@ -1,16 +1,16 @@
 package com.woojoo.forsbackend.service;
 
-import java.util.List;
-import java.time.LocalDateTime;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.woojoo.forsbackend.dto.DropDetailResponse;
-import com.woojoo.forsbackend.dto.DropResponse;
 import com.woojoo.forsbackend.dto.StockResponse;
 import com.woojoo.forsbackend.entity.DropEventEntity;
+import com.woojoo.forsbackend.entity.DropStockEntity;
 import com.woojoo.forsbackend.repository.DropEventRepository;
 import com.woojoo.forsbackend.repository.DropStockRepository;
 
@@ -19,27 +19,31 @@ public class DropService {
 
     private final DropEventRepository dropEventRepository;
     private final DropStockRepository dropStockRepository;
+    private final DropListSnapshot dropListSnapshot;
 
     public DropService(DropEventRepository dropEventRepository,
-                       DropStockRepository dropStockRepository) {
+                       DropStockRepository dropStockRepository,
+                       DropListSnapshot dropListSnapshot) {
         this.dropEventRepository = dropEventRepository;
         this.dropStockRepository = dropStockRepository;
+        this.dropListSnapshot = dropListSnapshot;
     }
 
-    public List<DropResponse> list() {
-        return dropEventRepository.findAll().stream()
-            .map(this::ensureStatusUpToDate)
-            .map(this::toDropResponse)
-            .toList();
+    // 목록은 메모리 스냅샷의 JSON을 그대로 내려준다. (드랍 수와 무관하게 쿼리 없음)
+    public byte[] listJson() {
+        return dropListSnapshot.jsonBytes();
     }
 
     public DropDetailResponse detail(Long id) {
         DropEventEntity drop = dropEventRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "DROP_NOT_FOUND"));
-        drop = ensureStatusUpToDate(drop);
 
+        // 버킷으로 나뉜 행은 SKU별로 합산해서 보여준다. (전체 남은 수량도 같은 행에서 합산)
         var stocks = dropStockRepository.findByDropEvent_Id(id).stream()
-            .map(s -> new StockResponse(s.getSkuId(), s.getRemainingQty()))
+            .collect(Collectors.groupingBy(DropStockEntity::getSkuId, TreeMap::new,
+                Collectors.summingInt(DropStockEntity::getRemainingQty)))
+            .entrySet().stream()
+            .map(e -> new StockResponse(e.getKey(), e.getValue()))
             .toList();
 
         return new DropDetailResponse(
@@ -52,37 +56,8 @@ public class DropService {
             drop.getStatus(),
             drop.getStartsAt().toString(),
             drop.getEndsAt().toString(),
-            dropStockRepository.sumRemainingQty(id),
+            stocks.stream().mapToInt(StockResponse::remainingQty).sum(),
             stocks
         );
     }
-
-    private DropResponse toDropResponse(DropEventEntity drop) {
-        return new DropResponse(
-            drop.getId(),
-            drop.getProduct().getName(),
-            drop.getProduct().getBrand(),
-            drop.getProduct().getPrice(),
-            drop.getProduct().getImageUrl(),
-            drop.getProduct().getDescription(),
-            drop.getStatus(),
-            drop.getStartsAt().toString(),
-            drop.getEndsAt().toString(),
-            dropStockRepository.sumRemainingQty(drop.getId())
-        );
-    }
-
-    private DropEventEntity ensureStatusUpToDate(DropEventEntity drop) {
-        LocalDateTime now = LocalDateTime.now();
-        if (drop.getStartsAt() != null && now.isAfter(drop.getStartsAt()) && now.isBefore(drop.getEndsAt())
-                && "SCHEDULED".equals(drop.getStatus())) {
-            drop.setStatus("LIVE");
-            return dropEventRepository.save(drop);
-        }
-        if (drop.getEndsAt() != null && now.isAfter(drop.getEndsAt()) && !"ENDED".equals(drop.getStatus())) {
-            drop.setStatus("ENDED");
-            return dropEventRepository.save(drop);
-        }
-        return drop;
-    }
 }
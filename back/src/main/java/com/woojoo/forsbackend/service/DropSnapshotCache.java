@@ -0,0 +1,67 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.woojoo.forsbackend.dto.DropSnapshot;
+import com.woojoo.forsbackend.entity.DropEventEntity;
+import com.woojoo.forsbackend.repository.DropEventRepository;
+
+/*
+드랍별 불변 스냅샷 캐시. createOrder의 LIVE 구간 체크가 카탈로그 쿼리 없이 끝나게 한다.
+상태가 바뀌면 invalidate로 바로 지우고, 다른 노드에서 바뀐 상태는 TTL 안에 다시 읽는다.
+*/
+@Service
+public class DropSnapshotCache {
+
+    private final DropEventRepository dropEventRepository;
+    private final long ttlMillis;
+    private final Map<Long, DropSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public DropSnapshotCache(DropEventRepository dropEventRepository,
+                             @Value("${fors.drop.snapshot-ttl-ms:5000}") long ttlMillis) {
+        this.dropEventRepository = dropEventRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    // 없는 드랍이면 null
+    public DropSnapshot get(Long dropEventId) {
+        long now = System.currentTimeMillis();
+        DropSnapshot snapshot = snapshots.get(dropEventId);
+        if (snapshot != null && now - snapshot.loadedAtMillis() < ttlMillis) {
+            return snapshot;
+        }
+        return dropEventRepository.findById(dropEventId)
+            .map(drop -> {
+                DropSnapshot loaded = toSnapshot(drop, now);
+                snapshots.put(dropEventId, loaded);
+                return loaded;
+            })
+            .orElse(null);
+    }
+
+    public void invalidate(Long dropEventId) {
+        snapshots.remove(dropEventId);
+    }
+
+    private static DropSnapshot toSnapshot(DropEventEntity drop, long now) {
+        return new DropSnapshot(
+            drop.getId(),
+            drop.getStatus(),
+            toEpochMillis(drop.getStartsAt(), Long.MAX_VALUE),
+            toEpochMillis(drop.getEndsAt(), Long.MIN_VALUE),
+            StockBucketService.bucketCount(drop),
+            now
+        );
+    }
+
+    // 시간이 비어 있으면 절대 LIVE로 판단되지 않게 한다.
+    private static long toEpochMillis(LocalDateTime time, long fallback) {
+        return time == null ? fallback : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
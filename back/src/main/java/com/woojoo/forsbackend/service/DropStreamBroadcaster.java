@@ -0,0 +1,199 @@
+package com.woojoo.forsbackend.service;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.woojoo.forsbackend.dto.DropStreamUpdate;
+import com.woojoo.forsbackend.dto.SkuStock;
+import com.woojoo.forsbackend.event.DropStatusChangedEvent;
+import com.woojoo.forsbackend.event.StockChangedEvent;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+드랍별 SSE 브로드캐스터. 재고/상태 이벤트가 오면 드랍을 dirty로 표시했다가 flush 주기마다 한 번만
+SKU별 남은 재고 스냅샷(절대값)을 모든 구독자에게 보낸다.
+- 스냅샷이라 이벤트를 놓치거나 다른 노드에서 팔려도 다음 전송에서 맞춰진다. (변화가 없어도 resync-ms마다 한 번 보냄)
+- 구독 직후에도 한 번 보내서 상세 조회 이후의 변화를 메운다.
+- DB 조회는 드랍당 전송 1번에 GROUP BY 1번으로 구독자 수와 상관없다.
+- 느린 클라이언트의 send가 공용 스케줄러 스레드를 막지 않도록 전송은 전용 풀에서 한다.
+*/
+@Service
+public class DropStreamBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(DropStreamBroadcaster.class);
+
+    private final DropStockRepository dropStockRepository;
+    private final long timeoutMs;
+    private final long resyncMs;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor sender;
+
+    public DropStreamBroadcaster(DropStockRepository dropStockRepository,
+                                 @Value("${fors.drop.stream.timeout-ms:300000}") long timeoutMs,
+                                 @Value("${fors.drop.stream.resync-ms:5000}") long resyncMs,
+                                 @Value("${fors.drop.stream.send-threads:2}") int sendThreads) {
+        this.dropStockRepository = dropStockRepository;
+        this.timeoutMs = timeoutMs;
+        this.resyncMs = resyncMs;
+        AtomicInteger seq = new AtomicInteger();
+        // 드랍당 전송 작업은 동시에 하나만 잡히므로(Channel.sending) 큐가 드랍 수 이상 쌓이지 않는다.
+        this.sender = new ThreadPoolExecutor(sendThreads, sendThreads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1024),
+            r -> {
+                Thread t = new Thread(r, "drop-stream-" + seq.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long dropEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // 빈 채널 정리(flush)와 겹치지 않게 맵 항목을 잡은 채로 구독자를 넣는다.
+        Channel channel = channels.compute(dropEventId, (id, current) -> {
+            Channel c = current == null ? new Channel() : current;
+            c.emitters.add(emitter);
+            return c;
+        });
+        emitter.onCompletion(() -> channel.emitters.remove(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> channel.emitters.remove(emitter));
+        // 새 구독자만 받는 첫 스냅샷
+        submit(() -> send(List.of(emitter), channel.emitters, snapshot(dropEventId, null)));
+        return emitter;
+    }
+
+    // 구독자가 없는 드랍의 이벤트는 버린다.
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        Channel channel = channels.get(event.dropEventId());
+        if (channel != null) {
+            channel.markDirty();
+        }
+    }
+
+    @EventListener
+    public void onStatusChanged(DropStatusChangedEvent event) {
+        Channel channel = channels.get(event.dropEventId());
+        if (channel != null) {
+            channel.setStatus(event.status());
+        }
+    }
+
+    // 드랍당 초당 최대 1000 / flush-ms 번만 보낸다. 여기서는 전송 작업만 넘긴다.
+    @Scheduled(fixedDelayString = "${fors.drop.stream.flush-ms:200}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        channels.forEach((dropEventId, channel) -> {
+            if (channel.emitters.isEmpty()) {
+                channels.computeIfPresent(dropEventId, (id, c) -> c == channel && c.emitters.isEmpty() ? null : c);
+                return;
+            }
+            if (!channel.due(now, resyncMs) || !channel.sending.compareAndSet(false, true)) {
+                return;
+            }
+            boolean submitted = submit(() -> {
+                try {
+                    String status = channel.drain(System.currentTimeMillis());
+                    send(channel.emitters, channel.emitters, snapshot(dropEventId, status));
+                } finally {
+                    channel.sending.set(false);
+                }
+            });
+            if (!submitted) {
+                channel.sending.set(false);
+            }
+        });
+    }
+
+    private DropStreamUpdate snapshot(Long dropEventId, String status) {
+        Map<Long, Long> stocks = new LinkedHashMap<>();
+        for (SkuStock stock : dropStockRepository.findSkuStocks(dropEventId)) {
+            stocks.put(stock.skuId(), stock.remainingQty());
+        }
+        return new DropStreamUpdate(dropEventId, status, stocks);
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            sender.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.warn("drop stream send failed", e);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 다음 flush나 resync에서 다시 보낸다.
+            return false;
+        }
+    }
+
+    private void send(List<SseEmitter> targets, List<SseEmitter> emitters, DropStreamUpdate update) {
+        for (SseEmitter emitter : targets) {
+            try {
+                emitter.send(SseEmitter.event().name("update").data(update));
+            } catch (IOException | IllegalStateException e) {
+                // 끊긴 연결은 onError/onCompletion에서 빠지지만 바로 제거해 둔다.
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private static class Channel {
+
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private boolean dirty;
+        private String status;
+        private long lastSentAt = System.currentTimeMillis();
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+
+        synchronized void setStatus(String status) {
+            this.status = status;
+            dirty = true;
+        }
+
+        synchronized boolean due(long now, long resyncMs) {
+            return dirty || now - lastSentAt >= resyncMs;
+        }
+
+        // 보낼 상태 변화(없으면 null)를 꺼내고 dirty를 지운다.
+        synchronized String drain(long now) {
+            String changed = status;
+            dirty = false;
+            status = null;
+            lastSentAt = now;
+            return changed;
+        }
+    }
+}
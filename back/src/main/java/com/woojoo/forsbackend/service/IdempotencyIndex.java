@@ -0,0 +1,140 @@
+package com.woojoo.forsbackend.service;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.woojoo.forsbackend.dto.CreateOrderResponse;
+import com.woojoo.forsbackend.repository.IdempotencyKeyRepository;
+
+/*
+멱등키 메모리 인덱스. 키는 IdempotencyLookupService.hash(userId, key) 32바이트를 쓴다.
+- LRU 캐시: 최근 키 -> 주문 응답. 재시도는 DB 없이 여기서 돌려준다.
+- Bloom filter: 본 적 있는 키. 여기에 없으면 "확실히 새 키"라서 SELECT를 생략한다.
+다른 노드에서 만든 키나 필터 교체로 빠진 키는 insert 때 유니크 제약에 걸리고,
+OrderService가 IdempotencyLookupService로 다시 조회하므로 DB 제약이 최종 판단이 된다.
+*/
+@Service
+public class IdempotencyIndex implements SmartInitializingSingleton {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final int expectedKeys;
+    private final int bits;
+    private final int hashes;
+    private final Map<ByteBuffer, CreateOrderResponse> responses;
+
+    // 현재 세대가 expectedKeys 만큼 차면 새 세대로 교체한다. (직전 세대까지 조회)
+    private volatile BloomGeneration current;
+    private volatile BloomGeneration previous;
+
+    public IdempotencyIndex(IdempotencyKeyRepository idempotencyKeyRepository,
+                            @Value("${fors.idempotency.cache-size:100000}") int cacheSize,
+                            @Value("${fors.idempotency.bloom-expected-keys:1000000}") int expectedKeys,
+                            @Value("${fors.idempotency.bloom-fpp:0.01}") double fpp) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.expectedKeys = expectedKeys;
+        this.bits = (int) Math.ceil(-expectedKeys * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * Math.log(2)));
+        this.responses = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, CreateOrderResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.current = new BloomGeneration(bits);
+        this.previous = new BloomGeneration(bits);
+    }
+
+    // 재시작 후에도 살아 있는 키는 "확실히 새 키"로 잘못 판단하지 않도록 미리 채운다.
+    @Override
+    public void afterSingletonsInstantiated() {
+        idempotencyKeyRepository.findLiveKeyHashes(LocalDateTime.now()).forEach(this::remember);
+    }
+
+    public CreateOrderResponse get(byte[] keyHash) {
+        synchronized (responses) {
+            return responses.get(ByteBuffer.wrap(keyHash));
+        }
+    }
+
+    public boolean mightExist(byte[] keyHash) {
+        long hash = bloomHash(keyHash);
+        return current.mightContain(hash, hashes) || previous.mightContain(hash, hashes);
+    }
+
+    public void put(byte[] keyHash, CreateOrderResponse response) {
+        synchronized (responses) {
+            responses.put(ByteBuffer.wrap(keyHash), response);
+        }
+        remember(keyHash);
+    }
+
+    private void remember(byte[] keyHash) {
+        BloomGeneration generation = current;
+        generation.add(bloomHash(keyHash), hashes);
+        if (generation.count.incrementAndGet() >= expectedKeys) {
+            rotate(generation);
+        }
+    }
+
+    private synchronized void rotate(BloomGeneration full) {
+        if (current != full) {
+            return;
+        }
+        previous = full;
+        current = new BloomGeneration(bits);
+    }
+
+    // 키 자체가 SHA-256이라 앞 8바이트를 그대로 써도 고르게 퍼진다.
+    private static long bloomHash(byte[] keyHash) {
+        return ByteBuffer.wrap(keyHash).getLong();
+    }
+
+    private static final class BloomGeneration {
+        private final AtomicLongArray words;
+        private final int bits;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private BloomGeneration(int bits) {
+            this.bits = bits;
+            this.words = new AtomicLongArray((bits + 63) >>> 6);
+        }
+
+        // 두 개의 32bit 해시를 섞어 k개의 위치를 만든다. (double hashing)
+        private void add(long hash, int k) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= k; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                long mask = 1L << bit;
+                int word = bit >>> 6;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, old, old | mask));
+            }
+        }
+
+        private boolean mightContain(long hash, int k) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= k; i++) {
+                int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bits;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,26 +1,96 @@
 package com.woojoo.forsbackend.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.woojoo.forsbackend.entity.OrderEntity;
-import com.woojoo.forsbackend.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.woojoo.forsbackend.dto.CreateOrderResponse;
+import com.woojoo.forsbackend.repository.IdempotencyKeyRepository;
 
 @Service
 public class IdempotencyLookupService {
 
-    private final OrderRepository orderRepository;
+    private static final int PURGE_CHUNK = 1000;
 
-    public IdempotencyLookupService(OrderRepository orderRepository) {
-        this.orderRepository = orderRepository;
+    private static final String CLAIM = """
+        INSERT INTO idempotency_keys (key_hash, user_id, order_id, response, expires_at)
+        VALUES (?, ?, ?, ?, ?)""";
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlHours;
+
+    public IdempotencyLookupService(IdempotencyKeyRepository idempotencyKeyRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${fors.idempotency.ttl-hours:24}") long ttlHours) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlHours = ttlHours;
+    }
+
+    // 같은 키라도 사용자가 다르면 다른 키로 본다.
+    public static byte[] hash(Long userId, String key) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                .digest((userId + ":" + key).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
-    public Optional<OrderEntity> findByIdempotencyKey(String key) {
+    public Optional<CreateOrderResponse> find(byte[] keyHash, Long userId) {
         // 실패한 insert 이후에도 조회가 가능하도록 별도 트랜잭션으로 실행한다.
-        return orderRepository.findByIdempotencyKey(key);
+        return idempotencyKeyRepository.findResponse(keyHash, userId).map(this::fromJson);
+    }
+
+    /*
+    주문 트랜잭션의 첫 SQL로 키를 선점한다. 이미 있으면 PK 중복(DuplicateKeyException)으로 롤백되고
+    OrderService가 find로 원래 응답을 돌려준다. 다른 제약 위반과 섞이지 않게 INSERT IGNORE는 쓰지 않는다.
+    JdbcTemplate으로 바로 실행해서 대기 중인 주문 insert가 먼저 flush되지 않는다.
+    */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void claim(byte[] keyHash, Long userId, CreateOrderResponse response) {
+        jdbcTemplate.update(CLAIM, keyHash, userId, response.orderId(), toJson(response),
+            LocalDateTime.now().plusHours(ttlHours));
+    }
+
+    // 만료된 키를 조금씩 지워서 긴 락을 잡지 않는다.
+    @Scheduled(fixedDelayString = "${fors.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        while (idempotencyKeyRepository.deleteExpired(now, PURGE_CHUNK) == PURGE_CHUNK) {
+            // 한 번에 PURGE_CHUNK 건씩
+        }
+    }
+
+    private String toJson(CreateOrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private CreateOrderResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, CreateOrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,144 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.woojoo.forsbackend.dto.OrderPageResponse;
+import com.woojoo.forsbackend.dto.OrderSummary;
+
+/*
+사용자별 "내 주문" 첫 페이지 캐시 (짧은 TTL + LRU).
+주문이 생기거나 상태가 바뀌면 그 사용자 항목을 지운다. (트랜잭션 안이면 커밋 후에)
+결제 콜백처럼 orderId만 아는 경우를 위해 캐시된 페이지의 orderId -> userId도 같이 들고 있다.
+조회 전에 version()을 받아 두고 put에 넘긴다. 그 사이 무효화가 있었으면 조회 결과가 오래됐을 수 있어 넣지 않는다.
+(무효화는 버전을 지우고, 다시 만들면 전역 순번으로 새 값을 받으므로 같은 값이 돌아오지 않는다.)
+orderId만 알고 주인을 모르는 변경은 같은 순번으로 기록해 두고, 그보다 먼저 버전을 받은 조회 결과에 그 주문이 있으면 넣지 않는다.
+*/
+@Service
+public class MyOrdersCache {
+
+    private final long ttlMillis;
+    private final Map<Long, Entry> pages;
+    private final Map<Long, Long> owners = new ConcurrentHashMap<>();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> unownedChanges;
+
+    public MyOrdersCache(@Value("${fors.order.my-first-page.ttl-ms:5000}") long ttlMillis,
+                         @Value("${fors.order.my-first-page.cache-size:10000}") int cacheSize) {
+        this.ttlMillis = ttlMillis;
+        this.pages = new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                if (size() > cacheSize) {
+                    versions.remove(eldest.getKey());
+                    forgetOwners(eldest.getValue().page());
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.unownedChanges = new LinkedHashMap<>(1024, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public OrderPageResponse get(Long userId) {
+        synchronized (pages) {
+            Entry entry = pages.get(userId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+                versions.remove(userId);
+                remove(userId);
+                return null;
+            }
+            return entry.page();
+        }
+    }
+
+    // DB 조회 전에 받아 둔다.
+    public long version(Long userId) {
+        return versions.computeIfAbsent(userId, k -> sequence.incrementAndGet());
+    }
+
+    public void put(Long userId, long version, OrderPageResponse page) {
+        synchronized (pages) {
+            Long current = versions.get(userId);
+            if (current == null || current != version) {
+                return;
+            }
+            for (OrderSummary order : page.items()) {
+                Long changedAt = unownedChanges.get(order.id());
+                if (changedAt != null && changedAt > version) {
+                    return;
+                }
+            }
+            remove(userId);
+            pages.put(userId, new Entry(page, System.currentTimeMillis() + ttlMillis));
+            page.items().forEach(o -> owners.put(o.id(), userId));
+        }
+    }
+
+    public void evictUser(Long userId) {
+        afterCommit(() -> {
+            synchronized (pages) {
+                versions.remove(userId);
+                remove(userId);
+            }
+        });
+    }
+
+    public void evictOrder(Long orderId) {
+        afterCommit(() -> {
+            synchronized (pages) {
+                Long owner = owners.get(orderId);
+                if (owner != null) {
+                    versions.remove(owner);
+                    remove(owner);
+                } else {
+                    unownedChanges.put(orderId, sequence.incrementAndGet());
+                }
+            }
+        });
+    }
+
+    private void remove(Long userId) {
+        Entry removed = pages.remove(userId);
+        if (removed != null) {
+            forgetOwners(removed.page());
+        }
+    }
+
+    private void forgetOwners(OrderPageResponse page) {
+        for (OrderSummary order : page.items()) {
+            owners.remove(order.id());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record Entry(OrderPageResponse page, long expiresAtMillis) {}
+}
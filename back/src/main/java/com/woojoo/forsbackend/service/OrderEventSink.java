@@ -0,0 +1,88 @@
+package com.woojoo.forsbackend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.woojoo.forsbackend.event.OrderStatusChangedEvent;
+
+import jakarta.annotation.PreDestroy;
+
+/*
+outbox 이벤트를 로컬 파일(NDJSON)이나 로그로 남기는 선택 구독자. (분석/알림 파이프라인 연결 전 임시 싱크)
+fors.outbox.file-sink가 비어 있고 log-sink가 false면 아무것도 하지 않는다.
+파일 쓰기가 실패하면 예외를 던져 relay 배치가 롤백되고 다시 전달된다.
+*/
+@Service
+public class OrderEventSink {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventSink.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final boolean logSink;
+    private BufferedWriter writer;
+
+    public OrderEventSink(ObjectMapper objectMapper,
+                          @Value("${fors.outbox.file-sink:}") String file,
+                          @Value("${fors.outbox.log-sink:false}") boolean logSink) {
+        this.objectMapper = objectMapper;
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.logSink = logSink;
+    }
+
+    @EventListener
+    public synchronized void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (file == null && !logSink) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        if (logSink) {
+            log.info("order event {}", json);
+        }
+        if (file != null) {
+            try {
+                if (writer == null) {
+                    writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                writer.write(json);
+                writer.newLine();
+                // relay가 outbox 행을 지우기 전에 디스크로 내보낸다.
+                writer.flush();
+            } catch (IOException e) {
+                closeQuietly();
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @PreDestroy
+    synchronized void closeQuietly() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // 닫기 실패는 무시 (다음 쓰기에서 다시 연다)
+            }
+            writer = null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.woojoo.forsbackend.repository.OrderRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+주문 만료 타이머. 주문이 생길 때 expiresAt(초 단위로 올림)을 DelayQueue에 올려두고 그 시각에 바로 만료 처리한다.
+같은 초에 만료되는 주문은 타이머 하나로 묶이고, 처리는 chunk-size 단위 묶음으로 끝날 때까지 반복한다.
+다른 노드에서 생긴 주문이나 재시작 전 주문은 주기적으로 가장 빠른 만료 시각을 다시 읽어 잡는다.
+처리 직후에도 이미 지난 주문이 남아 있으면(다른 트랜잭션이 잠근 행, 결제 콜백 대기) retry-backoff 뒤로 미룬다.
+*/
+@Service
+public class OrderExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExpiryScheduler.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderExpiryService orderExpiryService;
+    private final int chunkSize;
+    private final long retryBackoffMillis;
+
+    private final DelayQueue<Deadline> queue = new DelayQueue<>();
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+
+    public OrderExpiryScheduler(OrderRepository orderRepository,
+                                OrderExpiryService orderExpiryService,
+                                @Value("${fors.order.expiry.chunk-size:500}") int chunkSize,
+                                @Value("${fors.order.expiry.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        this.orderRepository = orderRepository;
+        this.orderExpiryService = orderExpiryService;
+        this.chunkSize = chunkSize;
+        this.retryBackoffMillis = retryBackoffMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::run, "order-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    public void schedule(LocalDateTime expiresAt) {
+        scheduleAt(toEpochMillis(expiresAt));
+    }
+
+    private void scheduleAt(long dueAtMillis) {
+        long dueAtSecond = Math.floorDiv(dueAtMillis + 999, 1000);
+        if (scheduled.add(dueAtSecond)) {
+            queue.put(new Deadline(dueAtSecond * 1000));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fors.order.expiry.rescan-ms:30000}")
+    public void rescan() {
+        LocalDateTime next = orderRepository.findNextPendingExpiry();
+        if (next != null) {
+            schedule(next);
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Deadline deadline = queue.take();
+                scheduled.remove(deadline.dueAtMillis() / 1000);
+                expireDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("order expiry failed", e);
+            }
+        }
+    }
+
+    private void expireDue() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderExpiryService.Chunk chunk = OrderExpiryService.Chunk.first();
+        do {
+            chunk = orderExpiryService.expireChunk(now, chunk, chunkSize);
+        } while (chunk.locked() == chunkSize);
+        // 남은 대기 주문 중 가장 빠른 만료 시각을 다시 건다. (다른 노드 주문 포함)
+        // 방금 처리하지 못한 지난 주문이 남았으면 바로 다시 돌지 않고 backoff 뒤로 미룬다.
+        LocalDateTime next = orderRepository.findNextPendingExpiry();
+        if (next != null) {
+            scheduleAt(Math.max(toEpochMillis(next), System.currentTimeMillis() + retryBackoffMillis));
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private record Deadline(long dueAtMillis) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+}
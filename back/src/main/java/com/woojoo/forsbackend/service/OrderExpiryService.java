@@ -0,0 +1,73 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.dto.StockKey;
+import com.woojoo.forsbackend.entity.OrderEntity;
+import com.woojoo.forsbackend.repository.OrderRepository;
+
+// 만료 처리 한 묶음 = 잠금 SELECT 1번 + 결제 콜백 확인 1번 + 상태 UPDATE 1번 + outbox 배치 insert 1번 + SKU별 재고 UPDATE 1번씩
+@Service
+public class OrderExpiryService {
+
+    private final OrderRepository orderRepository;
+    private final StockService stockService;
+    private final MyOrdersCache myOrdersCache;
+    private final OrderOutbox orderOutbox;
+    private final PaymentCallbackStore paymentCallbackStore;
+
+    public OrderExpiryService(OrderRepository orderRepository, StockService stockService, MyOrdersCache myOrdersCache,
+                              OrderOutbox orderOutbox, PaymentCallbackStore paymentCallbackStore) {
+        this.orderRepository = orderRepository;
+        this.stockService = stockService;
+        this.myOrdersCache = myOrdersCache;
+        this.orderOutbox = orderOutbox;
+        this.paymentCallbackStore = paymentCallbackStore;
+    }
+
+    /*
+    after 커서 뒤의 만료된 주문을 한 묶음 처리하고 다음 커서를 돌려준다.
+    결제 콜백 대기로 건너뛴 주문도 커서는 지나가므로, 호출 쪽은 locked가 chunkSize보다 적을 때까지 이어서 부르면 된다.
+    */
+    @Transactional
+    public Chunk expireChunk(LocalDateTime now, Chunk after, int chunkSize) {
+        List<OrderEntity> locked = orderRepository.lockExpiredPending(now, after.lastExpiresAt(), after.lastId(), chunkSize);
+        if (locked.isEmpty()) {
+            return new Chunk(0, 0, after.lastExpiresAt(), after.lastId());
+        }
+        OrderEntity last = locked.get(locked.size() - 1);
+        Chunk next = new Chunk(locked.size(), 0, last.getExpiresAt(), last.getId());
+        // 이미 받아 둔 결제 콜백이 반영 대기 중인 주문은 만료시키지 않는다. (PaymentCallbackIngestor)
+        List<Long> awaitingPayment = paymentCallbackStore.findOrdersWithPending(locked.stream().map(OrderEntity::getId).toList());
+        List<OrderEntity> expired = awaitingPayment.isEmpty() ? locked
+            : locked.stream().filter(o -> !awaitingPayment.contains(o.getId())).toList();
+        if (expired.isEmpty()) {
+            return next;
+        }
+        // 행을 잠근 상태라 전부 EXPIRED로 바뀐다.
+        orderRepository.expireAllIfPending(expired.stream().map(OrderEntity::getId).toList());
+        orderOutbox.appendAll(expired, "EXPIRED");
+
+        Map<StockKey, Long> released = expired.stream()
+            .collect(Collectors.groupingBy(o -> new StockKey(o.getDropEventId(), o.getSkuId()), Collectors.counting()));
+        released.forEach((key, qty) -> stockService.release(key.dropEventId(), key.skuId(), qty.intValue()));
+        expired.stream().map(OrderEntity::getUserId).distinct().forEach(myOrdersCache::evictUser);
+        return new Chunk(next.locked(), expired.size(), next.lastExpiresAt(), next.lastId());
+    }
+
+    // locked: 이번에 잠근 행 수, expired: 그중 실제로 만료시킨 수, last*: 다음 묶음의 시작 커서
+    public record Chunk(int locked, int expired, LocalDateTime lastExpiresAt, Long lastId) {
+
+        private static final Chunk FIRST = new Chunk(0, 0, LocalDateTime.of(1000, 1, 1, 0, 0), 0L);
+
+        public static Chunk first() {
+            return FIRST;
+        }
+    }
+}
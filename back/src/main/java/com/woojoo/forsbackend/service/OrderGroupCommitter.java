@@ -0,0 +1,177 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.woojoo.forsbackend.entity.OrderEntity;
+import com.woojoo.forsbackend.repository.OrderRepository;
+import com.woojoo.forsbackend.repository.PaymentRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+동시에 들어온 주문들의 insert를 한 트랜잭션(한 번의 flush/commit)으로 묶는다.
+재고 판단이 메모리에서 끝나는 fors.stock.mode=memory 에서만 켠다.
+배치 안에서 제약 위반이 나면 배치를 롤백하고 건별로 다시 넣어 실패한 주문만 돌려보낸다.
+*/
+@Service
+public class OrderGroupCommitter {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StockService stockService;
+    private final IdempotencyLookupService idempotencyLookupService;
+    private final OrderOutbox orderOutbox;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long maxWaitMillis;
+    private final BlockingQueue<PendingOrder> queue;
+
+    private volatile Thread worker;
+
+    public OrderGroupCommitter(OrderRepository orderRepository,
+                               PaymentRepository paymentRepository,
+                               TransactionTemplate transactionTemplate,
+                               StockService stockService,
+                               IdempotencyLookupService idempotencyLookupService,
+                               OrderOutbox orderOutbox,
+                               @Value("${fors.order.group-commit.enabled:false}") boolean enabled,
+                               @Value("${fors.order.group-commit.max-batch:64}") int maxBatch,
+                               @Value("${fors.order.group-commit.max-wait-ms:2}") long maxWaitMillis,
+                               @Value("${fors.order.group-commit.queue-capacity:4096}") int queueCapacity) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stockService = stockService;
+        this.idempotencyLookupService = idempotencyLookupService;
+        this.orderOutbox = orderOutbox;
+        this.enabled = enabled && stockService.isWriteBehind();
+        this.maxBatch = maxBatch;
+        this.maxWaitMillis = maxWaitMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        worker = new Thread(this::run, "order-group-commit");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    public OrderEntity submit(OrderEntity order, Integer amount, byte[] keyHash) {
+        PendingOrder pending = new PendingOrder(order, amount, keyHash, new CompletableFuture<>());
+        // 메모리에서 잡은 재고는 저장이 실패로 끝날 때 되돌린다. (응답을 기다리다 타임아웃으로 나간 뒤에 실패해도)
+        pending.result().whenComplete((saved, error) -> {
+            if (error != null) {
+                stockService.cancelReservation(order.getDropEventId(), order.getSkuId());
+            }
+        });
+        if (!queue.offer(pending)) {
+            ResponseStatusException full = new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "ORDER_QUEUE_FULL");
+            pending.result().completeExceptionally(full);
+            throw full;
+        }
+        try {
+            return pending.result().get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            // 늦게라도 커밋될 수 있으므로 여기서는 재고를 되돌리지 않는다. (실패로 끝나면 whenComplete에서 되돌림)
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "ORDER_COMMIT_TIMEOUT");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatch);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                while (batch.size() < maxBatch) {
+                    PendingOrder next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingOrder> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            batch.forEach(p -> p.result().complete(p.order()));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+        }
+        // 배치가 실패하면 건별로 다시 시도한다.
+        for (PendingOrder pending : batch) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(pending)));
+                pending.result().complete(pending.order());
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void insert(List<PendingOrder> batch) {
+        for (PendingOrder pending : batch) {
+            // 롤백된 배치에서 받은 ID는 버리고 새로 발급받는다.
+            pending.order().setId(null);
+            OrderEntity saved = orderRepository.save(pending.order());
+            // 키 선점은 바로 실행되고 주문/결제 insert는 아래 flush에서 배치로 나간다.
+            idempotencyLookupService.claim(pending.keyHash(), saved.getUserId(), OrderPlacementService.toResponse(saved));
+            paymentRepository.save(OrderPlacementService.newPaymentEntity(saved.getId(), pending.amount()));
+            orderOutbox.append(saved, saved.getStatus());
+        }
+        orderRepository.flush();
+    }
+
+    private record PendingOrder(OrderEntity order, Integer amount, byte[] keyHash,
+                                CompletableFuture<OrderEntity> result) {}
+}
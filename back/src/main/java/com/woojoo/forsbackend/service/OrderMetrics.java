@@ -0,0 +1,67 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/*
+주문/결제 경로 구간별 타이머(fors.order.stage)와 결과 카운터(fors.order.outcome).
+미터는 기동 시 한 번만 등록해 두고 호출마다 nanoTime 차이만 기록한다. (드랍 중에도 켜둘 수 있게)
+*/
+@Component
+public class OrderMetrics {
+
+    public enum Stage {
+        IDEMPOTENCY_CACHE,      // 메모리 LRU 조회
+        IDEMPOTENCY_LOOKUP,     // idempotency_keys SELECT
+        DROP_CHECK,             // 드랍 스냅샷 LIVE 확인
+        PLACEMENT,              // 주문 트랜잭션 전체 (커밋 포함)
+        STOCK_RESERVE,          // 재고 차감 (조건부 UPDATE 또는 메모리 카운터)
+        ORDER_INSERT,           // 주문/결제 insert flush
+        IDEMPOTENCY_CLAIM,      // 멱등키 선점 insert
+        GROUP_COMMIT,           // group commit 대기 + 배치 커밋
+        PAY_SETTLE,             // 주문/결제 상태 UPDATE
+        PAY_RELEASE,            // 결제 실패 재고 복구
+        PAY_STATE               // 이미 처리된 주문 상태 조회
+    }
+
+    public enum Outcome {
+        CREATED,
+        IDEMPOTENT_REPLAY,
+        SOLD_OUT,
+        ALREADY_PURCHASED,
+        DROP_NOT_LIVE
+    }
+
+    private final Map<Stage, Timer> stages = new EnumMap<>(Stage.class);
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, Timer.builder("fors.order.stage")
+                .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("fors.order.outcome")
+                .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                .register(meterRegistry));
+        }
+    }
+
+    // startedAt = System.nanoTime()
+    public void stage(Stage stage, long startedAt) {
+        stages.get(stage).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void outcome(Outcome outcome) {
+        outcomes.get(outcome).increment();
+    }
+}
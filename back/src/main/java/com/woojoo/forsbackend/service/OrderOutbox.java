@@ -0,0 +1,47 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.entity.OrderEntity;
+
+/*
+주문 상태 전환을 같은 트랜잭션 안에서 order_outbox에 남긴다. (insert 한 번, 후속 처리는 OrderOutboxRelay가 비동기로)
+전환 트랜잭션 밖에서 부르면 예외 (MANDATORY)
+*/
+@Service
+public class OrderOutbox {
+
+    private static final String INSERT = """
+        INSERT INTO order_outbox (order_id, status, user_id, drop_event_id, sku_id)
+        VALUES (?, ?, ?, ?, ?)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderOutbox(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEntity order, String status) {
+        jdbcTemplate.update(INSERT, order.getId(), status, order.getUserId(), order.getDropEventId(), order.getSkuId());
+    }
+
+    // 주문 행을 읽지 않은 전환 (결제 성공)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Long orderId, String status) {
+        jdbcTemplate.update(INSERT, orderId, status, null, null, null);
+    }
+
+    // 만료처럼 여러 주문이 한 번에 바뀌면 JDBC 배치 한 번으로
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OrderEntity> orders, String status) {
+        jdbcTemplate.batchUpdate(INSERT, orders.stream()
+            .map(o -> new Object[] {o.getId(), status, o.getUserId(), o.getDropEventId(), o.getSkuId()})
+            .toList());
+    }
+}
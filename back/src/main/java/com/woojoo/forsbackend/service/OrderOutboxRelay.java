@@ -0,0 +1,123 @@
+package com.woojoo.forsbackend.service;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.woojoo.forsbackend.event.OrderStatusChangedEvent;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+order_outbox를 id 순서대로 batch-size만큼 꺼내 이 노드의 구독자(@EventListener)에게 넘기고 지운다.
+- 발행과 삭제가 한 트랜잭션이라 구독자가 실패하면 롤백되고 다음 주기에 다시 보낸다. (최소 한 번)
+- GET_LOCK으로 한 번에 한 노드만 꺼내서 주문별 순서가 뒤섞이지 않는다.
+구독자는 relay 전용 스레드에서 돈다. (공용 @Scheduled 스레드를 붙잡지 않게) 구매 트랜잭션에는 insert 한 번만 남는다.
+한 주기에 max-batches-per-tick 묶음까지만 꺼내고 나머지는 다음 주기로 넘긴다.
+*/
+@Service
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+    private static final String LOCK_NAME = "fors_order_outbox";
+
+    private static final RowMapper<OrderStatusChangedEvent> EVENT = (rs, i) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new OrderStatusChangedEvent(
+            rs.getLong("id"),
+            rs.getLong("order_id"),
+            rs.getString("status"),
+            rs.getObject("user_id", Long.class),
+            rs.getObject("drop_event_id", Long.class),
+            rs.getObject("sku_id", Long.class),
+            createdAt.toLocalDateTime());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxBatchesPerTick;
+    private final long pollMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "order-outbox-relay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OrderOutboxRelay(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${fors.outbox.batch-size:500}") int batchSize,
+                            @Value("${fors.outbox.max-batches-per-tick:20}") int maxBatchesPerTick,
+                            @Value("${fors.outbox.poll-ms:200}") long pollMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.maxBatchesPerTick = maxBatchesPerTick;
+        this.pollMillis = pollMillis;
+    }
+
+    @PostConstruct
+    void start() {
+        executor.scheduleWithFixedDelay(this::relay, pollMillis, pollMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    public void relay() {
+        try {
+            Integer published;
+            int batches = 0;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published != null && published == batchSize && ++batches < maxBatchesPerTick);
+        } catch (RuntimeException e) {
+            log.warn("order outbox relay failed, will retry", e);
+        }
+    }
+
+    private int relayBatch() {
+        // 트랜잭션 커넥션에 잡는 잠금이라 같은 커넥션에서 풀어준다.
+        Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+        if (locked == null || locked != 1) {
+            return 0;
+        }
+        try {
+            List<OrderStatusChangedEvent> events = jdbcTemplate.query("""
+                SELECT id, order_id, status, user_id, drop_event_id, sku_id, created_at
+                FROM order_outbox
+                ORDER BY id
+                LIMIT ?""", EVENT, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            events.forEach(eventPublisher::publishEvent);
+
+            // id <= 마지막 id 로 지우면 아직 커밋 안 된 앞 번호 행까지 지울 수 있어서 읽은 id만 지운다.
+            jdbcTemplate.update("DELETE FROM order_outbox WHERE id IN (" + String.join(",", Collections.nCopies(events.size(), "?")) + ")",
+                events.stream().map(OrderStatusChangedEvent::outboxId).toArray());
+            return events.size();
+        } finally {
+            jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.dto.CreateOrderRequest;
+import com.woojoo.forsbackend.dto.CreateOrderResponse;
+import com.woojoo.forsbackend.entity.OrderEntity;
+import com.woojoo.forsbackend.entity.PaymentEntity;
+import com.woojoo.forsbackend.repository.OrderRepository;
+import com.woojoo.forsbackend.repository.PaymentRepository;
+import com.woojoo.forsbackend.service.OrderMetrics.Stage;
+
+/*
+멱등키 선점 + 재고 차감 + 주문/결제 insert 구간.
+OrderService와 트랜잭션 경계를 나눠서, 제약 위반이 나면 여기서 롤백이 끝난 뒤
+OrderService가 멱등 재조회를 할 수 있게 한다.
+*/
+@Service
+public class OrderPlacementService {
+
+    private final OrderRepository orderRepository;
+    private final PaymentRepository paymentRepository;
+    private final StockService stockService;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final IdempotencyLookupService idempotencyLookupService;
+    private final long paymentTtlSeconds;
+    private final OrderMetrics orderMetrics;
+    private final OrderOutbox orderOutbox;
+
+    public OrderPlacementService(OrderRepository orderRepository,
+                                 PaymentRepository paymentRepository,
+                                 StockService stockService,
+                                 OrderGroupCommitter orderGroupCommitter,
+                                 IdempotencyLookupService idempotencyLookupService,
+                                 OrderMetrics orderMetrics,
+                                 OrderOutbox orderOutbox,
+                                 @Value("${fors.order.payment-ttl-seconds:300}") long paymentTtlSeconds) {
+        this.orderRepository = orderRepository;
+        this.paymentRepository = paymentRepository;
+        this.stockService = stockService;
+        this.orderGroupCommitter = orderGroupCommitter;
+        this.idempotencyLookupService = idempotencyLookupService;
+        this.paymentTtlSeconds = paymentTtlSeconds;
+        this.orderMetrics = orderMetrics;
+        this.orderOutbox = orderOutbox;
+    }
+
+    @Transactional
+    public CreateOrderResponse place(CreateOrderRequest req, byte[] keyHash, Long userId, int buckets) {
+        // ID는 persist 시점에 애플리케이션이 채우고 insert는 flush 때 나간다.
+        OrderEntity saved = orderRepository.save(newOrderEntity(req, userId));
+        CreateOrderResponse response = toResponse(saved);
+
+        // 재시도면 재고 UPDATE(행 락)나 insert 없이 여기서 바로 롤백된다.
+        long startedAt = System.nanoTime();
+        idempotencyLookupService.claim(keyHash, userId, response);
+        orderMetrics.stage(Stage.IDEMPOTENCY_CLAIM, startedAt);
+
+        startedAt = System.nanoTime();
+        boolean reserved = stockService.reserve(req.dropEventId(), req.skuId(), buckets);
+        orderMetrics.stage(Stage.STOCK_RESERVE, startedAt);
+        if (!reserved) {
+            throw new IllegalStateException("SOLD_OUT");
+        }
+
+        startedAt = System.nanoTime();
+        paymentRepository.save(newPaymentEntity(saved.getId(), req.amount()));
+        orderRepository.flush();
+        orderMetrics.stage(Stage.ORDER_INSERT, startedAt);
+        orderOutbox.append(saved, saved.getStatus());
+
+        return response;
+    }
+
+    // 메모리 재고 + group commit 모드: 재고는 메모리에서 잡고 insert는 다른 요청들과 한 트랜잭션으로 묶는다.
+    public CreateOrderResponse placeGrouped(CreateOrderRequest req, byte[] keyHash, Long userId) {
+        long startedAt = System.nanoTime();
+        boolean reserved = stockService.reserve(req.dropEventId(), req.skuId(), 1);
+        orderMetrics.stage(Stage.STOCK_RESERVE, startedAt);
+        if (!reserved) {
+            throw new IllegalStateException("SOLD_OUT");
+        }
+        // 저장이 실패하면 OrderGroupCommitter가 예약을 되돌린다.
+        startedAt = System.nanoTime();
+        OrderEntity saved = orderGroupCommitter.submit(newOrderEntity(req, userId), req.amount(), keyHash);
+        orderMetrics.stage(Stage.GROUP_COMMIT, startedAt);
+        return toResponse(saved);
+    }
+
+    public boolean isGroupCommit() {
+        return orderGroupCommitter.isEnabled();
+    }
+
+    static PaymentEntity newPaymentEntity(Long orderId, Integer amount) {
+        PaymentEntity payment = new PaymentEntity();
+        payment.setOrderId(orderId);
+        payment.setStatus("INITIATED");
+        payment.setAmount(amount == null ? 0 : amount);
+        return payment;
+    }
+
+    private OrderEntity newOrderEntity(CreateOrderRequest req, Long userId) {
+        OrderEntity order = new OrderEntity();
+        order.setUserId(userId);
+        order.setDropEventId(req.dropEventId());
+        order.setSkuId(req.skuId());
+        order.setStatus("PAYMENT_PENDING");
+        order.setStockPending(stockService.isWriteBehind());
+        order.setExpiresAt(LocalDateTime.now().plusSeconds(paymentTtlSeconds));
+        return order;
+    }
+
+    static CreateOrderResponse toResponse(OrderEntity order) {
+        return new CreateOrderResponse(order.getId(), order.getStatus(), order.getExpiresAt().toString());
+    }
+}
@@ -4,126 +4,175 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.woojoo.forsbackend.dto.CreateOrderRequest;
 import com.woojoo.forsbackend.dto.CreateOrderResponse;
+import com.woojoo.forsbackend.dto.DropSnapshot;
+import com.woojoo.forsbackend.dto.OrderCursor;
+import com.woojoo.forsbackend.dto.OrderPageResponse;
+import com.woojoo.forsbackend.dto.OrderSummary;
 import com.woojoo.forsbackend.dto.PayResponse;
-import com.woojoo.forsbackend.entity.DropEventEntity;
 import com.woojoo.forsbackend.entity.OrderEntity;
-import com.woojoo.forsbackend.entity.PaymentEntity;
-import com.woojoo.forsbackend.repository.DropEventRepository;
-import com.woojoo.forsbackend.repository.DropStockRepository;
 import com.woojoo.forsbackend.repository.OrderRepository;
-import com.woojoo.forsbackend.repository.PaymentRepository;
+import com.woojoo.forsbackend.service.OrderMetrics.Outcome;
+import com.woojoo.forsbackend.service.OrderMetrics.Stage;
 
 @Service
 public class OrderService {
 
-    private final DropEventRepository dropEventRepository;
+    public static final int MY_ORDERS_PAGE_SIZE = 20;
+    private static final int MY_ORDERS_MAX_PAGE_SIZE = 100;
+
+    private final DropSnapshotCache dropSnapshotCache;
 
     private final OrderRepository orderRepository;
-    private final DropStockRepository dropStockRepository;
-    private final PaymentRepository paymentRepository;
+    private final StockService stockService;
     private final IdempotencyLookupService idempotencyLookupService;
+    private final OrderPlacementService orderPlacementService;
+    private final IdempotencyIndex idempotencyIndex;
+    private final OrderExpiryScheduler orderExpiryScheduler;
+    private final MyOrdersCache myOrdersCache;
+    private final OrderMetrics orderMetrics;
+    private final OrderOutbox orderOutbox;
 
     public OrderService(OrderRepository orderRepository,
-                        DropStockRepository dropStockRepository,
-                        PaymentRepository paymentRepository,
-                        IdempotencyLookupService idempotencyLookupService, DropEventRepository dropEventRepository) {
+                        StockService stockService,
+                        IdempotencyLookupService idempotencyLookupService, DropSnapshotCache dropSnapshotCache,
+                        OrderPlacementService orderPlacementService,
+                        IdempotencyIndex idempotencyIndex,
+                        OrderExpiryScheduler orderExpiryScheduler,
+                        MyOrdersCache myOrdersCache,
+                        OrderMetrics orderMetrics,
+                        OrderOutbox orderOutbox) {
         this.orderRepository = orderRepository;
-        this.dropEventRepository = dropEventRepository;
-        this.dropStockRepository = dropStockRepository;
-        this.paymentRepository = paymentRepository;
+        this.dropSnapshotCache = dropSnapshotCache;
+        this.stockService = stockService;
         this.idempotencyLookupService = idempotencyLookupService;
+        this.orderPlacementService = orderPlacementService;
+        this.idempotencyIndex = idempotencyIndex;
+        this.orderExpiryScheduler = orderExpiryScheduler;
+        this.myOrdersCache = myOrdersCache;
+        this.orderMetrics = orderMetrics;
+        this.orderOutbox = orderOutbox;
     }
 
-    @Transactional
+    // 트랜잭션은 OrderPlacementService에서 시작한다. (제약 위반 후 재조회를 위해 경계를 분리)
     public CreateOrderResponse createOrder(CreateOrderRequest req, String idempotencyKey, Long userId) {
         if (idempotencyKey == null || idempotencyKey.isBlank()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "IDEMPOTENCY_KEY_REQUIRED");
         }
-        var existing = orderRepository.findByIdempotencyKey(idempotencyKey);
-        if (existing.isPresent()) {
-            return toCreateOrderResponse(existing.get());
+        byte[] keyHash = IdempotencyLookupService.hash(userId, idempotencyKey);
+        // 최근 재시도는 메모리에서 바로 돌려준다.
+        long startedAt = System.nanoTime();
+        CreateOrderResponse cached = idempotencyIndex.get(keyHash);
+        orderMetrics.stage(Stage.IDEMPOTENCY_CACHE, startedAt);
+        if (cached != null) {
+            orderMetrics.outcome(Outcome.IDEMPOTENT_REPLAY);
+            return cached;
         }
-
-                DropEventEntity dropEvent = dropEventRepository.findById(req.dropEventId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "DROP_NOT_LIVE"));
-        LocalDateTime now = LocalDateTime.now();
-        if (!"LIVE".equals(dropEvent.getStatus())
-                || dropEvent.getStartsAt() == null
-                || dropEvent.getEndsAt() == null
-                || now.isBefore(dropEvent.getStartsAt())
-                || now.isAfter(dropEvent.getEndsAt())) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "DROP_NOT_LIVE");
+        // 품절 확인보다 먼저 멱등키를 본다. 이미 성공한 주문의 재시도는 LRU에서 밀렸거나
+        // 재시작(기동 시 Bloom filter 예열)한 뒤에도 SOLD_OUT이 아니라 원래 응답을 받아야 한다.
+        // Bloom filter에 없으면 이 노드에서는 처음 보는 키라서 SELECT를 생략한다.
+        if (idempotencyIndex.mightExist(keyHash)) {
+            CreateOrderResponse existing = lookup(keyHash, userId);
+            if (existing != null) {
+                return existing;
+            }
         }
-
-        int updated = dropStockRepository.decreaseIfAvailable(req.dropEventId(), req.skuId());
-        if (updated == 0) {
+        // 품절이 확인된 SKU는 DB를 보지 않고 돌려보낸다. (커넥션도 잡지 않음)
+        // Bloom filter는 노드별이라 다른 노드에서 만든 키의 재시도는 여기서 SOLD_OUT을 받는다.
+        if (stockService.isSoldOut(req.dropEventId(), req.skuId())) {
+            orderMetrics.outcome(Outcome.SOLD_OUT);
             throw new IllegalStateException("SOLD_OUT");
         }
 
-        OrderEntity order = newOrderEntity(req, idempotencyKey, userId);
-        OrderEntity saved;
+        // 캐시된 드랍 스냅샷으로 LIVE 구간을 확인한다. (카탈로그 쿼리 없음)
+        startedAt = System.nanoTime();
+        DropSnapshot dropEvent = dropSnapshotCache.get(req.dropEventId());
+        orderMetrics.stage(Stage.DROP_CHECK, startedAt);
+        if (dropEvent == null || !dropEvent.isLiveAt(System.currentTimeMillis())) {
+            orderMetrics.outcome(Outcome.DROP_NOT_LIVE);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "DROP_NOT_LIVE");
+        }
+
         try {
-            saved = orderRepository.save(order);
-        } catch (DataIntegrityViolationException e) {
-            var existingFromNewTx = idempotencyLookupService.findByIdempotencyKey(idempotencyKey);
+            startedAt = System.nanoTime();
+            CreateOrderResponse created = orderPlacementService.isGroupCommit()
+                ? orderPlacementService.placeGrouped(req, keyHash, userId)
+                : orderPlacementService.place(req, keyHash, userId, dropEvent.stockBuckets());
+            orderMetrics.stage(Stage.PLACEMENT, startedAt);
+            orderMetrics.outcome(Outcome.CREATED);
+            orderExpiryScheduler.schedule(LocalDateTime.parse(created.expiresAt()));
+            myOrdersCache.evictUser(userId);
+            return remember(keyHash, created);
+        } catch (DuplicateKeyException e) {
+            // 멱등키 PK 중복만 재시도로 본다.
+            var existingFromNewTx = idempotencyLookupService.find(keyHash, userId);
             if (existingFromNewTx.isPresent()) {
-                return toCreateOrderResponse(existingFromNewTx.get());
+                orderMetrics.outcome(Outcome.IDEMPOTENT_REPLAY);
+                return remember(keyHash, existingFromNewTx.get());
             }
+            orderMetrics.outcome(Outcome.ALREADY_PURCHASED);
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "ALREADY_PURCHASED", e);
+        } catch (DataIntegrityViolationException e) {
+            orderMetrics.outcome(Outcome.ALREADY_PURCHASED);
             throw new ResponseStatusException(HttpStatus.CONFLICT, "ALREADY_PURCHASED", e);
+        } catch (IllegalStateException e) {
+            if ("SOLD_OUT".equals(e.getMessage())) {
+                orderMetrics.outcome(Outcome.SOLD_OUT);
+            }
+            throw e;
         }
-        
-        PaymentEntity payment = newPaymentEntity(saved, req);
-        paymentRepository.save(payment);
-
-        return new CreateOrderResponse(saved.getId(), saved.getStatus(), saved.getExpiresAt().toString());
     }
 
+    /*
+    주문/결제 상태는 UPDATE 한 번으로 같이 바꾼다. (FAIL이면 재고 복구 UPDATE가 하나 더)
+    이미 처리된 주문이면 현재 상태만 읽어서 돌려준다.
+    */
     @Transactional
     public PayResponse pay(Long orderId, String result) {
-        OrderEntity order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new IllegalArgumentException("ORDER_NOT_FOUND"));
-
-        PaymentEntity payment = paymentRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new IllegalStateException("PAYMENT_NOT_FOUND"));
-
-        if ("PAID".equals(order.getStatus())) {
-            return new PayResponse(orderId, order.getStatus(), payment.getStatus());
-        }
-        if ("CANCELED".equals(order.getStatus()) || "EXPIRED".equals(order.getStatus())) {
-            return new PayResponse(orderId, order.getStatus(), payment.getStatus());
+        boolean succeed = "SUCCEED".equalsIgnoreCase(result);
+        if (!succeed && !"FAIL".equalsIgnoreCase(result)) {
+            throw new IllegalArgumentException("INVALID_RESULT");
         }
 
-        if ("SUCCEED".equalsIgnoreCase(result)) {
-            int changed = orderRepository.paidIfPending(orderId);
-
-            if (changed == 1) {
-                payment.setStatus("SUCCEEDED");
-                return new PayResponse(orderId, "PAID", payment.getStatus());
+        long startedAt = System.nanoTime();
+        if (succeed) {
+            int settled = orderRepository.settleIfPending(orderId, "PAID", "SUCCEEDED");
+            orderMetrics.stage(Stage.PAY_SETTLE, startedAt);
+            if (settled > 0) {
+                orderOutbox.append(orderId, "PAID");
+                myOrdersCache.evictOrder(orderId);
+                return new PayResponse(orderId, "PAID", "SUCCEEDED");
             }
-            // 이미 PAID거나 CANCELED/EXPIRED 상태였으면 그대로 반환
-            return new PayResponse(orderId, order.getStatus(), payment.getStatus());
-        }
-
-        if ("FAIL".equalsIgnoreCase(result)) {
-            int changed = orderRepository.cancelIfPending(orderId);
-
-            if (changed == 1) {
-                payment.setStatus("FAILED");
-                dropStockRepository.increase(order.getDropEventId(), order.getSkuId());
+        } else {
+            int settled = orderRepository.settleIfPending(orderId, "CANCELED", "FAILED");
+            orderMetrics.stage(Stage.PAY_SETTLE, startedAt);
+            if (settled > 0) {
+                startedAt = System.nanoTime();
+                OrderEntity order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("ORDER_NOT_FOUND"));
+                stockService.release(order.getDropEventId(), order.getSkuId());
+                orderMetrics.stage(Stage.PAY_RELEASE, startedAt);
+                orderOutbox.append(order, "CANCELED");
+                myOrdersCache.evictUser(order.getUserId());
+                return new PayResponse(orderId, "CANCELED", "FAILED");
             }
-            return new PayResponse(orderId, order.getStatus(), payment.getStatus());
         }
 
-        throw new IllegalArgumentException("INVALID_RESULT");
+        // 이미 PAID거나 CANCELED/EXPIRED 상태였으면 그대로 반환
+        startedAt = System.nanoTime();
+        PayResponse current = orderRepository.findPayState(orderId)
+            .orElseThrow(() -> new IllegalArgumentException("ORDER_NOT_FOUND"));
+        orderMetrics.stage(Stage.PAY_STATE, startedAt);
+        return current;
     }
 
     // 배송 처리 (PAID -> SHIPPING만 허용)
@@ -138,26 +187,35 @@ public class OrderService {
         }
 
         order.setStatus("SHIPPING");
+        orderOutbox.append(order, "SHIPPING");
+        myOrdersCache.evictUser(order.getUserId());
         return order;
     }
 
-    @Scheduled(fixedDelay = 60000)  // 1분마다
-    @Transactional
-    public void expirePendingOrders() {
-        var now = LocalDateTime.now();
-        var expiredList = orderRepository.findExpiredPending(now);
-
-        for (var order : expiredList) {
-            int changed = orderRepository.expireIfPending(order.getId());
-            if (changed == 1) {
-                dropStockRepository.increase(order.getDropEventId(), order.getSkuId());
+    // 내 주문 목록 (최신순 커서 페이지). 첫 페이지는 사용자별로 잠깐 캐시한다.
+    public OrderPageResponse getMyOrders(Long userId, String cursorToken, int size) {
+        boolean firstPage = cursorToken == null || cursorToken.isBlank();
+        int pageSize = Math.max(1, Math.min(size, MY_ORDERS_MAX_PAGE_SIZE));
+        boolean cacheable = firstPage && pageSize == MY_ORDERS_PAGE_SIZE;
+        long cacheVersion = 0;
+        if (cacheable) {
+            OrderPageResponse cached = myOrdersCache.get(userId);
+            if (cached != null) {
+                return cached;
             }
+            // 조회 중에 커밋된 주문 변경이 있으면 이 결과는 캐시에 넣지 않는다.
+            cacheVersion = myOrdersCache.version(userId);
         }
-    }
 
-    // 내 주문 목록
-    public List<OrderEntity> getMyOrders(Long userId) {
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        OrderCursor cursor = OrderCursor.decode(cursorToken);
+        List<OrderSummary> items = orderRepository.findMyPageBefore(userId, cursor.createdAt(), cursor.id(),
+            PageRequest.of(0, pageSize));
+        String next = items.size() < pageSize ? null : OrderCursor.after(items.get(items.size() - 1)).encode();
+        OrderPageResponse page = new OrderPageResponse(items, next);
+        if (cacheable) {
+            myOrdersCache.put(userId, cacheVersion, page);
+        }
+        return page;
     }
 
     // 내 주문 상세
@@ -166,35 +224,34 @@ public class OrderService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ORDER_NOT_FOUND"));
     }
 
-    // 관리자 주문 조회
-    public List<OrderEntity> getOrdersByStatus(String status) {
-        if (status == null || status.isBlank()) {
-            return orderRepository.findAllByOrderByCreatedAtDesc();
+    // 대기열 티켓이 이미 반납된 뒤 들어온 재시도용: 이 키로 만든 주문이 있으면 그 응답, 없으면 null
+    public CreateOrderResponse findReplay(String idempotencyKey, Long userId) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return null;
         }
-        return orderRepository.findByStatusOrderByCreatedAtDesc(status);
-    }
-
-    private CreateOrderResponse toCreateOrderResponse(OrderEntity order) {
-        return new CreateOrderResponse(order.getId(), order.getStatus(), order.getExpiresAt().toString());
+        byte[] keyHash = IdempotencyLookupService.hash(userId, idempotencyKey);
+        CreateOrderResponse cached = idempotencyIndex.get(keyHash);
+        if (cached != null) {
+            orderMetrics.outcome(Outcome.IDEMPOTENT_REPLAY);
+            return cached;
+        }
+        return lookup(keyHash, userId);
     }
 
-    private OrderEntity newOrderEntity(CreateOrderRequest req, String idempotencyKey, Long userId) {
-        OrderEntity order = new OrderEntity();
-        order.setUserId(userId);
-        order.setDropEventId(req.dropEventId());
-        order.setSkuId(req.skuId());
-        order.setStatus("PAYMENT_PENDING");
-        order.setIdempotencyKey(idempotencyKey);
-        order.setExpiresAt(LocalDateTime.now().plusMinutes(5));
-        return order;
+    private CreateOrderResponse lookup(byte[] keyHash, Long userId) {
+        long startedAt = System.nanoTime();
+        var existing = idempotencyLookupService.find(keyHash, userId);
+        orderMetrics.stage(Stage.IDEMPOTENCY_LOOKUP, startedAt);
+        if (existing.isEmpty()) {
+            return null;
+        }
+        orderMetrics.outcome(Outcome.IDEMPOTENT_REPLAY);
+        return remember(keyHash, existing.get());
     }
 
-    private PaymentEntity newPaymentEntity(OrderEntity order, CreateOrderRequest req) {
-        PaymentEntity payment = new PaymentEntity();
-        payment.setOrderId(order.getId());
-        payment.setStatus("INITIATED");
-        payment.setAmount(req.amount() == null ? 0 : req.amount());
-        return payment;
+    private CreateOrderResponse remember(byte[] keyHash, CreateOrderResponse response) {
+        idempotencyIndex.put(keyHash, response);
+        return response;
     }
 
 }
@@ -0,0 +1,163 @@
+package com.woojoo.forsbackend.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.woojoo.forsbackend.service.PaymentCallbackStore.StoredCallback;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/*
+비동기 결제 콜백. 수신 시 payment_callbacks에 저장(커밋)한 뒤에만 202를 주고,
+워커 스레드 하나가 배치로 잠가서 pay()와 행 삭제를 한 트랜잭션으로 반영한다.
+- 종료/배포/장애로 워커가 멈춰도 콜백은 테이블에 남아 다음 기동(또는 다른 노드)에서 반영된다.
+- 실패한 콜백은 버리지 않고 점점 늦춰서 다시 시도하고, max-attempts를 넘으면 DEAD로 남긴다.
+- 반영 대기 중인 콜백이 있는 주문은 만료 처리에서 건너뛴다. (OrderExpiryService)
+pay()가 멱등이라 같은 콜백이 두 번 반영되어도 안전하다.
+*/
+@Service
+public class PaymentCallbackIngestor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCallbackIngestor.class);
+
+    private final OrderService orderService;
+    private final PaymentCallbackStore paymentCallbackStore;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final long pollMillis;
+    private final int maxAttempts;
+    // 이 노드에서 콜백을 받으면 폴링 주기를 기다리지 않고 워커를 깨운다.
+    private final Semaphore wakeup = new Semaphore(0);
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public PaymentCallbackIngestor(OrderService orderService,
+                                   PaymentCallbackStore paymentCallbackStore,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${fors.payment.ingest.async:false}") boolean enabled,
+                                   @Value("${fors.payment.ingest.max-batch:100}") int maxBatch,
+                                   @Value("${fors.payment.ingest.poll-ms:200}") long pollMillis,
+                                   @Value("${fors.payment.ingest.max-attempts:10}") int maxAttempts) {
+        this.orderService = orderService;
+        this.paymentCallbackStore = paymentCallbackStore;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.pollMillis = pollMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "payment-ingest");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // 진행 중인 배치는 끝까지 반영하고 멈춘다. 남은 콜백은 테이블에 있다.
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        wakeup.release();
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // 저장이 커밋되면 반환한다. (저장 실패는 예외 -> 결제사가 재시도)
+    public void accept(Long orderId, String result) {
+        if (!"SUCCEED".equalsIgnoreCase(result) && !"FAIL".equalsIgnoreCase(result)) {
+            throw new IllegalArgumentException("INVALID_RESULT");
+        }
+        paymentCallbackStore.save(orderId, result.toUpperCase());
+        wakeup.release();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (drainOnce() < maxBatch) {
+                    wakeup.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                    wakeup.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("payment callback batch failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    // 처리한(잠근) 콜백 수
+    private int drainOnce() {
+        AtomicReference<List<StoredCallback>> locked = new AtomicReference<>(List.of());
+        try {
+            // 한 트랜잭션: 잠금 + 전부 반영 + 전부 삭제
+            transactionTemplate.executeWithoutResult(status -> {
+                List<StoredCallback> batch = paymentCallbackStore.lockDue(LocalDateTime.now(), maxBatch);
+                locked.set(batch);
+                batch.forEach(c -> orderService.pay(c.orderId(), c.result()));
+                paymentCallbackStore.delete(batch.stream().map(StoredCallback::id).toList());
+            });
+            return locked.get().size();
+        } catch (RuntimeException e) {
+            if (locked.get().isEmpty()) {
+                throw e;
+            }
+            // 배치가 롤백되면 건별로 다시 해서 문제 있는 콜백만 뒤로 미룬다.
+            log.debug("payment callback batch rolled back, retrying per row", e);
+            locked.get().forEach(this::applyOne);
+            return locked.get().size();
+        }
+    }
+
+    private void applyOne(StoredCallback callback) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                orderService.pay(callback.orderId(), callback.result());
+                paymentCallbackStore.delete(List.of(callback.id()));
+            });
+        } catch (RuntimeException e) {
+            int attempts = callback.attempts() + 1;
+            boolean dead = attempts >= maxAttempts;
+            // 1초, 2초, 4초 ... 최대 5분
+            long backoffSeconds = Math.min(1L << Math.min(attempts - 1, 16), 300);
+            paymentCallbackStore.markFailed(callback.id(), e.toString(), LocalDateTime.now().plusSeconds(backoffSeconds), dead);
+            if (dead) {
+                log.error("payment callback dead-lettered after {} attempts: orderId={}", attempts, callback.orderId(), e);
+            } else {
+                log.warn("payment callback failed (attempt {}): orderId={}", attempts, callback.orderId(), e);
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.woojoo.forsbackend.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/*
+payment_callbacks 접근. 콜백 수신(insert), 워커의 배치 잠금/삭제/재시도 표시,
+만료 처리가 반영 대기 중인 콜백이 있는 주문을 건너뛰도록 조회한다.
+*/
+@Service
+public class PaymentCallbackStore {
+
+    public record StoredCallback(Long id, Long orderId, String result, int attempts) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PaymentCallbackStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // autocommit insert 한 번. 이게 끝나야 202를 준다.
+    public void save(Long orderId, String result) {
+        jdbcTemplate.update("INSERT INTO payment_callbacks (order_id, result) VALUES (?, ?)", orderId, result);
+    }
+
+    // 트랜잭션 안에서 호출. 다른 노드의 워커가 잡은 행은 건너뛴다.
+    public List<StoredCallback> lockDue(LocalDateTime now, int limit) {
+        return jdbcTemplate.query("""
+            SELECT id, order_id, result, attempts FROM payment_callbacks
+            WHERE status = 'PENDING' AND next_attempt_at <= ?
+            ORDER BY id
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED""",
+            (rs, i) -> new StoredCallback(rs.getLong("id"), rs.getLong("order_id"), rs.getString("result"), rs.getInt("attempts")),
+            Timestamp.valueOf(now), limit);
+    }
+
+    public void delete(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM payment_callbacks WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+    }
+
+    // 실패한 콜백은 nextAttemptAt까지 미루고, dead면 더 이상 시도하지 않는다.
+    public void markFailed(Long id, String error, LocalDateTime nextAttemptAt, boolean dead) {
+        jdbcTemplate.update("""
+            UPDATE payment_callbacks
+            SET attempts = attempts + 1, last_error = ?, next_attempt_at = ?, status = ?
+            WHERE id = ?""",
+            error == null ? null : error.substring(0, Math.min(error.length(), 500)),
+            Timestamp.valueOf(nextAttemptAt), dead ? "DEAD" : "PENDING", id);
+    }
+
+    // 아직 반영되지 않은 콜백이 있는 주문 (일반 SELECT라 워커가 잡고 있는 행도 보인다)
+    public List<Long> findOrdersWithPending(List<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList(
+            "SELECT DISTINCT order_id FROM payment_callbacks WHERE status = 'PENDING' AND order_id IN ("
+                + placeholders(orderIds.size()) + ")",
+            Long.class, orderIds.toArray());
+    }
+
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.entity.DropEventEntity;
+import com.woojoo.forsbackend.entity.DropStockEntity;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+
+/*
+SKU 한 개의 재고를 N개의 drop_stocks 행(버킷)으로 나눠 행 락 경합을 분산한다.
+버킷 수는 drop_events.stock_buckets로 드랍마다 정한다.
+*/
+@Service
+public class StockBucketService {
+
+    private final DropStockRepository dropStockRepository;
+
+    public StockBucketService(DropStockRepository dropStockRepository) {
+        this.dropStockRepository = dropStockRepository;
+    }
+
+    public static int bucketCount(DropEventEntity drop) {
+        Integer buckets = drop.getStockBuckets();
+        return buckets == null || buckets < 1 ? 1 : buckets;
+    }
+
+    // LIVE 전환 직전(구매가 열리기 전)에 SKU별 총량을 버킷 수만큼 고르게 다시 나눈다.
+    @Transactional
+    public void applyBuckets(DropEventEntity drop) {
+        int buckets = bucketCount(drop);
+        Map<Long, List<DropStockEntity>> bySku = new TreeMap<>();
+        for (DropStockEntity stock : dropStockRepository.findByDropEvent_Id(drop.getId())) {
+            bySku.computeIfAbsent(stock.getSkuId(), k -> new ArrayList<>()).add(stock);
+        }
+
+        for (var entry : bySku.entrySet()) {
+            List<DropStockEntity> rows = entry.getValue();
+            if (rows.size() == buckets) {
+                continue;
+            }
+            int total = rows.stream().mapToInt(DropStockEntity::getRemainingQty).sum();
+            rows.sort((a, b) -> Integer.compare(a.getBucket(), b.getBucket()));
+
+            while (rows.size() > buckets) {
+                dropStockRepository.delete(rows.remove(rows.size() - 1));
+            }
+            while (rows.size() < buckets) {
+                DropStockEntity row = new DropStockEntity();
+                row.setDropEvent(drop);
+                row.setSkuId(entry.getKey());
+                rows.add(row);
+            }
+            for (int i = 0; i < buckets; i++) {
+                DropStockEntity row = rows.get(i);
+                row.setBucket(i);
+                row.setRemainingQty(total / buckets + (i < total % buckets ? 1 : 0));
+                dropStockRepository.save(row);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.woojoo.forsbackend.dto.SkuStock;
+import com.woojoo.forsbackend.dto.StockKey;
+import com.woojoo.forsbackend.event.StockChangedEvent;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+import com.woojoo.forsbackend.repository.OrderRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/*
+재고/대기 주문 게이지.
+- fors.stock.remaining{drop,sku}: LIVE 드랍의 SKU별 남은 재고. 주기적으로 DB 값으로 맞추고 그 사이엔 재고 이벤트로 갱신
+- fors.order.pending{kind=payment|stock_sync}: 결제 대기 주문 수 / 메모리 재고 모드의 미반영 주문 수
+스크레이프할 때 DB를 읽지 않고 마지막으로 읽어 둔 값을 돌려준다.
+*/
+@Component
+public class StockGauges {
+
+    private final DropStockRepository dropStockRepository;
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<StockKey, SkuGauge> skus = new ConcurrentHashMap<>();
+    private final AtomicLong pendingPayment = new AtomicLong();
+    private final AtomicLong pendingStockSync = new AtomicLong();
+
+    public StockGauges(DropStockRepository dropStockRepository,
+                       OrderRepository orderRepository,
+                       MeterRegistry meterRegistry) {
+        this.dropStockRepository = dropStockRepository;
+        this.orderRepository = orderRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("fors.order.pending", pendingPayment, AtomicLong::get).tag("kind", "payment").register(meterRegistry);
+        Gauge.builder("fors.order.pending", pendingStockSync, AtomicLong::get).tag("kind", "stock_sync").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${fors.metrics.refresh-ms:10000}")
+    public void refresh() {
+        Set<StockKey> live = new HashSet<>();
+        for (SkuStock stock : dropStockRepository.findLiveSkuStocks()) {
+            StockKey key = new StockKey(stock.dropEventId(), stock.skuId());
+            live.add(key);
+            skus.computeIfAbsent(key, this::register).remaining.set(stock.remainingQty());
+        }
+        // LIVE가 끝난 드랍의 게이지는 내린다.
+        skus.entrySet().removeIf(entry -> {
+            if (live.contains(entry.getKey())) {
+                return false;
+            }
+            meterRegistry.remove(entry.getValue().gauge);
+            return true;
+        });
+
+        pendingPayment.set(orderRepository.countByStatus("PAYMENT_PENDING"));
+        pendingStockSync.set(orderRepository.countAllStockPending());
+    }
+
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        SkuGauge sku = skus.get(new StockKey(event.dropEventId(), event.skuId()));
+        if (sku != null) {
+            sku.remaining.addAndGet(event.delta());
+        }
+    }
+
+    private SkuGauge register(StockKey key) {
+        AtomicLong remaining = new AtomicLong();
+        Gauge gauge = Gauge.builder("fors.stock.remaining", remaining, AtomicLong::get)
+            .tags(Tags.of("drop", String.valueOf(key.dropEventId()), "sku", String.valueOf(key.skuId())))
+            .register(meterRegistry);
+        return new SkuGauge(remaining, gauge);
+    }
+
+    private record SkuGauge(AtomicLong remaining, Gauge gauge) {}
+}
@@ -0,0 +1,58 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.stereotype.Service;
+
+import com.woojoo.forsbackend.dto.StockKey;
+
+/*
+드랍 재고를 (dropEventId, skuId) 별 AtomicInteger로 들고 판매/품절을 메모리에서 결정한다.
+카운터 값 = drop_stocks.remaining_qty - 아직 drop_stocks에 반영되지 않은(stock_pending) 주문 수
+DB 반영은 StockSyncService가 배치로 처리한다. 단일 노드에서만 유효하다.
+*/
+@Service
+public class StockReservationEngine {
+
+    private final StockSyncService stockSyncService;
+    private final Map<StockKey, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    public StockReservationEngine(StockSyncService stockSyncService) {
+        this.stockSyncService = stockSyncService;
+    }
+
+    // 드랍이 LIVE가 될 때 SKU별 카운터를 한 번에 적재한다. (이미 있는 카운터는 건드리지 않음)
+    public void load(Long dropEventId) {
+        stockSyncService.loadRemaining(dropEventId)
+            .forEach((skuId, qty) -> counters.putIfAbsent(new StockKey(dropEventId, skuId), new AtomicInteger(qty)));
+    }
+
+    public boolean tryReserve(StockKey key) {
+        AtomicInteger counter = counters.get(key);
+        if (counter == null) {
+            // DB 조회는 맵 밖에서 한다. (computeIfAbsent 안에서 하면 같은 bin의 다른 SKU까지 조회 동안 막힌다)
+            // 동시에 적재했으면 먼저 들어간 카운터를 쓴다.
+            AtomicInteger loaded = new AtomicInteger(stockSyncService.loadRemaining(key.dropEventId(), key.skuId()));
+            AtomicInteger existing = counters.putIfAbsent(key, loaded);
+            counter = existing != null ? existing : loaded;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current <= 0) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current - 1));
+        return true;
+    }
+
+    // 아직 적재되지 않은 SKU라면 다음 적재 때 DB 값에 이미 포함되므로 무시한다.
+    public void release(StockKey key, int qty) {
+        AtomicInteger counter = counters.get(key);
+        if (counter != null) {
+            counter.addAndGet(qty);
+        }
+    }
+}
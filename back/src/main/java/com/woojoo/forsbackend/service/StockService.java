@@ -0,0 +1,214 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.woojoo.forsbackend.dto.DropSnapshot;
+import com.woojoo.forsbackend.dto.StockKey;
+import com.woojoo.forsbackend.entity.DropStockEntity;
+import com.woojoo.forsbackend.event.StockChangedEvent;
+import com.woojoo.forsbackend.repository.DropEventRepository;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+
+/*
+재고 차감/복구 진입점.
+fors.stock.mode = database : drop_stocks 조건부 UPDATE로 바로 차감 (여러 노드에서 안전, 버킷 분산 지원)
+fors.stock.mode = memory   : StockReservationEngine 카운터로 결정하고 DB에는 배치로 반영 (단일 노드 전용)
+*/
+@Service
+public class StockService implements SmartInitializingSingleton {
+
+    private final DropStockRepository dropStockRepository;
+    private final DropEventRepository dropEventRepository;
+    private final StockReservationEngine stockReservationEngine;
+    private final StockSyncService stockSyncService;
+    private final DropSnapshotCache dropSnapshotCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean inMemory;
+    private final long soldOutTtlMillis;
+
+    // 품절이 확인된 SKU -> 만료 시각(ms). 다른 노드의 재고 복구를 놓치지 않도록 TTL을 둔다.
+    private final Map<StockKey, Long> soldOut = new ConcurrentHashMap<>();
+    // 재고 복구가 있을 때마다 올린다. 차감 실패 후 품절 표시 전에 복구가 끼어들었으면 표시하지 않는다.
+    private final AtomicLong releaseEpoch = new AtomicLong();
+
+    public StockService(DropStockRepository dropStockRepository,
+                        DropEventRepository dropEventRepository,
+                        StockReservationEngine stockReservationEngine,
+                        StockSyncService stockSyncService,
+                        DropSnapshotCache dropSnapshotCache,
+                        ApplicationEventPublisher eventPublisher,
+                        @Value("${fors.stock.mode:database}") String mode,
+                        @Value("${fors.stock.sold-out-ttl-ms:2000}") long soldOutTtlMillis) {
+        this.dropStockRepository = dropStockRepository;
+        this.dropEventRepository = dropEventRepository;
+        this.stockReservationEngine = stockReservationEngine;
+        this.stockSyncService = stockSyncService;
+        this.dropSnapshotCache = dropSnapshotCache;
+        this.eventPublisher = eventPublisher;
+        this.inMemory = "memory".equalsIgnoreCase(mode);
+        this.soldOutTtlMillis = soldOutTtlMillis;
+    }
+
+    // 재시작 시 웹 서버가 요청을 받기 전에 미반영 차감분을 정리하고 LIVE 드랍 카운터를 올린다.
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!inMemory) {
+            return;
+        }
+        stockSyncService.syncPending();
+        dropEventRepository.findByStatus("LIVE")
+            .forEach(drop -> stockReservationEngine.load(drop.getId()));
+    }
+
+    // 주문 행에 stock_pending을 남겨야 하는지 (메모리 모드에서만 true)
+    public boolean isWriteBehind() {
+        return inMemory;
+    }
+
+    // DB를 건드리지 않고 품절 여부만 본다. true면 바로 SOLD_OUT 처리해도 된다.
+    public boolean isSoldOut(Long dropEventId, Long skuId) {
+        StockKey key = new StockKey(dropEventId, skuId);
+        Long until = soldOut.get(key);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            soldOut.remove(key, until);
+            return false;
+        }
+        return true;
+    }
+
+    public boolean reserve(Long dropEventId, Long skuId, int buckets) {
+        StockKey key = new StockKey(dropEventId, skuId);
+        long epoch = releaseEpoch.get();
+        if (!inMemory) {
+            if (reserveFromBuckets(dropEventId, skuId, buckets)) {
+                afterCommit(() -> publishChange(key, -1));
+                return true;
+            }
+            markSoldOut(key, epoch);
+            return false;
+        }
+        if (!stockReservationEngine.tryReserve(key)) {
+            markSoldOut(key, epoch);
+            return false;
+        }
+        afterCommit(() -> publishChange(key, -1));
+        // 주문 저장이 롤백되면 메모리에서 뺀 1개를 되돌린다.
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        stockReservationEngine.release(key, 1);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    // 트랜잭션 밖에서 잡은 메모리 예약을 주문 저장 실패 시 되돌린다.
+    public void cancelReservation(Long dropEventId, Long skuId) {
+        if (inMemory) {
+            StockKey key = new StockKey(dropEventId, skuId);
+            stockReservationEngine.release(key, 1);
+            clearSoldOut(key);
+            publishChange(key, 1);
+        }
+    }
+
+    public void release(Long dropEventId, Long skuId) {
+        release(dropEventId, skuId, 1);
+    }
+
+    // 같은 SKU의 여러 주문을 UPDATE 한 번으로 복구한다.
+    public void release(Long dropEventId, Long skuId, int qty) {
+        DropSnapshot drop = dropSnapshotCache.get(dropEventId);
+        int buckets = drop == null ? 1 : drop.stockBuckets();
+        // 복구는 아무 버킷에 돌려놔도 된다.
+        int bucket = buckets > 1 ? ThreadLocalRandom.current().nextInt(buckets) : 0;
+        if (dropStockRepository.increaseBy(dropEventId, skuId, bucket, qty) == 0) {
+            // 버킷을 나누지 않은 드랍(처음부터 LIVE로 들어왔거나 LIVE 이후 버킷 수가 바뀜)은 고른 버킷 행이 없을 수 있다.
+            DropStockEntity existing = dropStockRepository.findByDropEvent_IdAndSkuIdOrderByBucket(dropEventId, skuId)
+                .stream().findFirst()
+                .orElseThrow(() -> new IllegalStateException("STOCK_NOT_FOUND"));
+            dropStockRepository.increaseBy(dropEventId, skuId, existing.getBucket(), qty);
+        }
+        StockKey key = new StockKey(dropEventId, skuId);
+        // DB 복구가 커밋된 뒤에만 다시 팔 수 있게 한다.
+        afterCommit(() -> {
+            if (inMemory) {
+                stockReservationEngine.release(key, qty);
+            }
+            clearSoldOut(key);
+            publishChange(key, qty);
+        });
+    }
+
+    // LIVE 전환이 커밋된 뒤(버킷 분할 포함) 각 노드에서 호출된다.
+    public void onDropLive(Long dropEventId) {
+        if (inMemory) {
+            stockReservationEngine.load(dropEventId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${fors.stock.sync-interval-ms:500}")
+    public void syncPending() {
+        if (inMemory) {
+            stockSyncService.syncPending();
+        }
+    }
+
+    private void publishChange(StockKey key, int delta) {
+        eventPublisher.publishEvent(new StockChangedEvent(key.dropEventId(), key.skuId(), delta));
+    }
+
+    // 차감을 시도하기 전의 epoch 그대로일 때만 표시한다. (그 사이 복구된 재고를 TTL 동안 가리지 않게)
+    private void markSoldOut(StockKey key, long epoch) {
+        soldOut.compute(key, (k, until) ->
+            releaseEpoch.get() == epoch ? System.currentTimeMillis() + soldOutTtlMillis : until);
+    }
+
+    // epoch를 먼저 올려서, 지우는 사이에 끼어든 markSoldOut이 다시 표시하지 못하게 한다.
+    private void clearSoldOut(StockKey key) {
+        releaseEpoch.incrementAndGet();
+        soldOut.remove(key);
+    }
+
+    // 임의의 버킷부터 시작해 비어 있을 때만 다음 버킷을 찔러본다.
+    private boolean reserveFromBuckets(Long dropEventId, Long skuId, int buckets) {
+        int start = buckets > 1 ? ThreadLocalRandom.current().nextInt(buckets) : 0;
+        for (int i = 0; i < buckets; i++) {
+            if (dropStockRepository.decreaseIfAvailable(dropEventId, skuId, (start + i) % buckets) == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
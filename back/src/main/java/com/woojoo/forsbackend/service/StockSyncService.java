@@ -0,0 +1,81 @@
+package com.woojoo.forsbackend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.woojoo.forsbackend.dto.StockKey;
+import com.woojoo.forsbackend.entity.DropStockEntity;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+import com.woojoo.forsbackend.repository.OrderRepository;
+
+@Service
+public class StockSyncService {
+
+    private final OrderRepository orderRepository;
+    private final DropStockRepository dropStockRepository;
+
+    public StockSyncService(OrderRepository orderRepository, DropStockRepository dropStockRepository) {
+        this.orderRepository = orderRepository;
+        this.dropStockRepository = dropStockRepository;
+    }
+
+    /*
+    stock_pending 주문을 SKU별로 묶어 drop_stocks에 한 번에 차감한다.
+    주문 행이 원본이므로 재시작 직후 같은 메서드로 돌리면 그대로 복구(reconcile)된다.
+    */
+    @Transactional
+    public int syncPending() {
+        int total = 0;
+        for (StockKey key : orderRepository.findStockPendingKeys()) {
+            int marked = orderRepository.markStockSynced(key.dropEventId(), key.skuId());
+            if (marked > 0) {
+                decreaseAcrossBuckets(key.dropEventId(), key.skuId(), marked);
+                total += marked;
+            }
+        }
+        return total;
+    }
+
+    // 남은 수량이 있는 버킷부터 차감하고, 모자라는 분은 마지막 버킷에서 뺀다.
+    private void decreaseAcrossBuckets(Long dropEventId, Long skuId, int qty) {
+        List<DropStockEntity> buckets = dropStockRepository.findByDropEvent_IdAndSkuIdOrderByBucket(dropEventId, skuId);
+        if (buckets.isEmpty()) {
+            return;
+        }
+        int left = qty;
+        for (DropStockEntity bucket : buckets) {
+            int take = Math.min(left, Math.max(bucket.getRemainingQty(), 0));
+            if (take > 0) {
+                dropStockRepository.decreaseBy(dropEventId, skuId, bucket.getBucket(), take);
+                left -= take;
+            }
+            if (left == 0) {
+                return;
+            }
+        }
+        dropStockRepository.decreaseBy(dropEventId, skuId, buckets.get(buckets.size() - 1).getBucket(), left);
+    }
+
+    // 같은 스냅샷 안에서 읽어야 remaining_qty와 미반영 주문 수가 어긋나지 않는다.
+    @Transactional(readOnly = true)
+    public int loadRemaining(Long dropEventId, Long skuId) {
+        int remaining = dropStockRepository.findByDropEvent_IdAndSkuIdOrderByBucket(dropEventId, skuId).stream()
+            .mapToInt(DropStockEntity::getRemainingQty)
+            .sum();
+        return remaining - (int) orderRepository.countStockPending(dropEventId, skuId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> loadRemaining(Long dropEventId) {
+        Map<Long, Integer> remaining = new HashMap<>();
+        for (DropStockEntity stock : dropStockRepository.findByDropEvent_Id(dropEventId)) {
+            remaining.merge(stock.getSkuId(), stock.getRemainingQty(), Integer::sum);
+        }
+        remaining.replaceAll((skuId, qty) -> qty - (int) orderRepository.countStockPending(dropEventId, skuId));
+        return remaining;
+    }
+}
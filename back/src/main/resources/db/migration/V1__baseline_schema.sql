@@ -0,0 +1,86 @@
+-- 기존에 ddl-auto: update로 만들어진 DB는 baseline(0) 후 이 스크립트가 그대로 지나가도록 IF NOT EXISTS로 작성한다.
+
+CREATE TABLE IF NOT EXISTS users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_users_email (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_roles (
+    id      BIGINT       NOT NULL AUTO_INCREMENT,
+    user_id BIGINT       NOT NULL,
+    role    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_user_roles_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS drop_products (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(200)  NOT NULL,
+    brand       VARCHAR(100)  NOT NULL,
+    price       INT           NOT NULL,
+    image_url   VARCHAR(500),
+    description VARCHAR(1000),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS drop_events (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    product_id    BIGINT      NOT NULL,
+    status        VARCHAR(30) NOT NULL,
+    starts_at     DATETIME(6) NOT NULL,
+    ends_at       DATETIME(6) NOT NULL,
+    stock_buckets INT         NOT NULL DEFAULT 1,
+    created_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_drop_events_product FOREIGN KEY (product_id) REFERENCES drop_products (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS drop_stocks (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    drop_event_id BIGINT      NOT NULL,
+    sku_id        BIGINT      NOT NULL,
+    bucket        INT         NOT NULL DEFAULT 0,
+    remaining_qty INT         NOT NULL,
+    created_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_drop_stocks_drop_event FOREIGN KEY (drop_event_id) REFERENCES drop_events (id)
+) ENGINE = InnoDB;
+
+-- 주문/결제 ID는 앱에서 TSID로 만든다. (AUTO_INCREMENT 없음)
+CREATE TABLE IF NOT EXISTS orders (
+    id            BIGINT      NOT NULL,
+    user_id       BIGINT      NOT NULL,
+    drop_event_id BIGINT      NOT NULL,
+    sku_id        BIGINT      NOT NULL,
+    status        VARCHAR(30) NOT NULL,
+    stock_pending BIT(1)      NOT NULL DEFAULT b'0',
+    expires_at    DATETIME(6) NOT NULL,
+    created_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS payments (
+    id         BIGINT      NOT NULL,
+    order_id   BIGINT      NOT NULL,
+    status     VARCHAR(30) NOT NULL,
+    amount     INT         NOT NULL,
+    created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_payments_order (order_id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    key_hash   BINARY(32)   NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    order_id   BIGINT       NOT NULL,
+    response   VARCHAR(500) NOT NULL,
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (key_hash)
+) ENGINE = InnoDB;
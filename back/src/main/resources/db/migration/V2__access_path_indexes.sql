@@ -0,0 +1,48 @@
+-- ddl-auto 시절에 추가된 컬럼이 빠진 DB를 위해 (이미 있으면 건너뜀)
+ALTER TABLE drop_events ADD COLUMN IF NOT EXISTS stock_buckets INT NOT NULL DEFAULT 1;
+ALTER TABLE drop_stocks ADD COLUMN IF NOT EXISTS bucket INT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS stock_pending BIT(1) NOT NULL DEFAULT b'0';
+
+-- 멱등키는 idempotency_keys 테이블로 옮겼다. 컬럼을 지우기 전에 아직 살아 있는(24시간 이내) 키를 옮겨서
+-- 배포 직후 들어오는 재시도도 원래 주문을 돌려받게 한다. (해시/응답 형식은 IdempotencyLookupService와 같음)
+-- 컬럼이 없는 DB(새로 만든 DB)에서는 건너뛴다.
+SET @fors_backfill_idempotency = IF(
+    (SELECT COUNT(*) FROM information_schema.columns
+     WHERE table_schema = DATABASE() AND table_name = 'orders' AND column_name = 'idempotency_key') > 0,
+    'INSERT IGNORE INTO idempotency_keys (key_hash, user_id, order_id, response, expires_at)
+     SELECT UNHEX(SHA2(CONCAT(o.user_id, '':'', o.idempotency_key), 256)),
+            o.user_id,
+            o.id,
+            JSON_OBJECT(''orderId'', o.id, ''status'', ''PAYMENT_PENDING'',
+                        ''expiresAt'', DATE_FORMAT(o.expires_at, ''%Y-%m-%dT%H:%i:%s.%f'')),
+            o.created_at + INTERVAL 24 HOUR
+     FROM orders o
+     WHERE o.idempotency_key IS NOT NULL
+       AND o.created_at > NOW() - INTERVAL 24 HOUR',
+    'DO 0');
+PREPARE fors_backfill_idempotency FROM @fors_backfill_idempotency;
+EXECUTE fors_backfill_idempotency;
+DEALLOCATE PREPARE fors_backfill_idempotency;
+
+-- (컬럼과 함께 유니크 인덱스도 사라짐)
+ALTER TABLE orders DROP COLUMN IF EXISTS idempotency_key;
+
+-- 재고 차감/복구: (drop, sku, bucket) 한 행을 바로 찾는다.
+CREATE UNIQUE INDEX IF NOT EXISTS uk_drop_stocks_drop_sku_bucket ON drop_stocks (drop_event_id, sku_id, bucket);
+
+-- 상태 전환 타이머 재적재 (status <> 'ENDED')
+CREATE INDEX IF NOT EXISTS idx_drop_events_status ON drop_events (status);
+
+-- 만료 처리: 가장 먼저 만료되는 대기 주문부터
+CREATE INDEX IF NOT EXISTS idx_orders_status_expires ON orders (status, expires_at);
+-- 관리자 목록 keyset (전체 / 상태별)
+CREATE INDEX IF NOT EXISTS idx_orders_created_id ON orders (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_id ON orders (status, created_at, id);
+-- 내 주문 목록: 정렬 키 뒤에 목록 컬럼까지 넣어 테이블을 읽지 않는다.
+CREATE INDEX IF NOT EXISTS idx_orders_user_created
+    ON orders (user_id, created_at DESC, id, status, drop_event_id, sku_id, expires_at);
+-- 메모리 재고 모드의 write-back 대상
+CREATE INDEX IF NOT EXISTS idx_orders_stock_pending ON orders (stock_pending, drop_event_id, sku_id);
+
+-- 만료 멱등키 정리
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys (expires_at);
@@ -0,0 +1,12 @@
+-- 주문 상태 전환 outbox. 전환과 같은 트랜잭션에서 쌓고 OrderOutboxRelay가 id 순서대로 발행한 뒤 지운다.
+-- 같은 주문의 전환은 orders 행 잠금으로 직렬화되므로 주문별로는 id 순서 = 커밋 순서다.
+CREATE TABLE IF NOT EXISTS order_outbox (
+    id            BIGINT      NOT NULL AUTO_INCREMENT,
+    order_id      BIGINT      NOT NULL,
+    status        VARCHAR(30) NOT NULL,
+    user_id       BIGINT,
+    drop_event_id BIGINT,
+    sku_id        BIGINT,
+    created_at    DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,15 @@
+-- 비동기 결제 콜백 (fors.payment.ingest.async). 202를 주기 전에 여기 저장하고, 반영되면 지운다.
+-- 반영에 계속 실패한 콜백은 DEAD로 남겨 수동 처리한다.
+CREATE TABLE IF NOT EXISTS payment_callbacks (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    order_id        BIGINT       NOT NULL,
+    result          VARCHAR(10)  NOT NULL,
+    status          VARCHAR(10)  NOT NULL DEFAULT 'PENDING',
+    attempts        INT          NOT NULL DEFAULT 0,
+    last_error      VARCHAR(500),
+    next_attempt_at DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    received_at     DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    PRIMARY KEY (id),
+    KEY idx_payment_callbacks_status_next (status, next_attempt_at),
+    KEY idx_payment_callbacks_order (order_id, status)
+) ENGINE = InnoDB;
@@ -0,0 +1,175 @@
+package com.woojoo.forsbackend.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.woojoo.forsbackend.entity.DropEventEntity;
+import com.woojoo.forsbackend.entity.DropProductEntity;
+import com.woojoo.forsbackend.entity.DropStockEntity;
+import com.woojoo.forsbackend.repository.DropEventRepository;
+import com.woojoo.forsbackend.repository.DropProductRepository;
+import com.woojoo.forsbackend.repository.DropStockRepository;
+import com.woojoo.forsbackend.security.AuthTokenService;
+import com.woojoo.forsbackend.security.UserPrincipal;
+import com.woojoo.forsbackend.support.EmbeddedMariaDb;
+
+
+/*
+POST /api/orders 를 실제 서버(랜덤 포트)에 동시에 쏴서 처리량/지연을 출력한다.
+하위 클래스가 spring.threads.virtual.enabled 값만 바꿔서 두 모드를 같은 조건으로 비교한다.
+DB는 임베디드 MariaDB(MariaDB4j)를 한 번 띄워 같이 쓰고, 넣은 데이터는 측정이 끝나면 지운다.
+기본 test 태스크에서는 빠진다. (./gradlew benchmark)
+*/
+@Tag("benchmark")
+abstract class CreateOrderBenchmarkSupport {
+
+    static final String TOKEN_SECRET = "benchmark-secret-benchmark-secret-0123";
+
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 5000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 1000);
+    private static final int USERS = 1000;
+
+    @LocalServerPort
+    int port;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) {
+        // 두 모드의 컨텍스트가 같은 DB를 쓴다.
+        registry.add("spring.datasource.url", () -> EmbeddedMariaDb.url("fors_bench"));
+        registry.add("spring.datasource.username", () -> EmbeddedMariaDb.USERNAME);
+        registry.add("spring.datasource.password", () -> EmbeddedMariaDb.PASSWORD);
+    }
+
+    @Autowired
+    AuthTokenService authTokenService;
+    @Autowired
+    DropProductRepository dropProductRepository;
+    @Autowired
+    DropEventRepository dropEventRepository;
+    @Autowired
+    DropStockRepository dropStockRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private Long seededDropId;
+
+    abstract String mode();
+
+    // 다음 벤치마크(다른 스레드 모드)가 같은 DB에서 같은 조건으로 시작하도록 넣은 행을 전부 지운다.
+    @AfterEach
+    void cleanUp() {
+        if (seededDropId == null) {
+            return;
+        }
+        Long productId = jdbcTemplate.queryForObject("SELECT product_id FROM drop_events WHERE id = ?", Long.class, seededDropId);
+        String orders = "SELECT id FROM orders WHERE drop_event_id = ?";
+        jdbcTemplate.update("DELETE FROM payments WHERE order_id IN (" + orders + ")", seededDropId);
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE order_id IN (" + orders + ")", seededDropId);
+        jdbcTemplate.update("DELETE FROM order_outbox WHERE drop_event_id = ?", seededDropId);
+        jdbcTemplate.update("DELETE FROM orders WHERE drop_event_id = ?", seededDropId);
+        jdbcTemplate.update("DELETE FROM drop_stocks WHERE drop_event_id = ?", seededDropId);
+        jdbcTemplate.update("DELETE FROM drop_events WHERE id = ?", seededDropId);
+        jdbcTemplate.update("DELETE FROM drop_products WHERE id = ?", productId);
+        seededDropId = null;
+    }
+
+    @Test
+    void createOrder() throws Exception {
+        Long dropEventId = seedLiveDrop(REQUESTS);
+        seededDropId = dropEventId;
+        String[] tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            tokens[i] = authTokenService.issue(new UserPrincipal((long) (1_000_000 + i), "bench" + i + "@fors.local", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        }
+        String body = "{\"dropEventId\":" + dropEventId + ",\"skuId\":1,\"amount\":1000}";
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                int n = i;
+                inFlight.acquire();
+                callers.submit(() -> {
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                            .header("Content-Type", "application/json")
+                            .header("Authorization", "Bearer " + tokens[n % USERS])
+                            .header("Idempotency-Key", UUID.randomUUID().toString())
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                        long sentAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[n] = System.nanoTime() - sentAt;
+                        if (response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        System.out.printf("[bench] mode=%s requests=%d concurrency=%d throughput=%.1f/s p50=%.1fms p99=%.1fms max=%.1fms errors=%d%n",
+            mode(), REQUESTS, CONCURRENCY,
+            REQUESTS / (elapsed / 1e9),
+            percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[REQUESTS - 1] / 1e6,
+            errors.get());
+    }
+
+    private Long seedLiveDrop(int qty) {
+        DropProductEntity product = new DropProductEntity();
+        product.setName("benchmark");
+        product.setBrand("FORS");
+        product.setPrice(1000);
+        dropProductRepository.save(product);
+
+        DropEventEntity drop = new DropEventEntity();
+        drop.setProduct(product);
+        drop.setStatus("LIVE");
+        drop.setStartsAt(LocalDateTime.now().minusMinutes(1));
+        drop.setEndsAt(LocalDateTime.now().plusHours(1));
+        dropEventRepository.save(drop);
+
+        DropStockEntity stock = new DropStockEntity();
+        stock.setDropEvent(drop);
+        stock.setSkuId(1L);
+        stock.setRemainingQty(qty);
+        dropStockRepository.save(stock);
+        return drop.getId();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,16 @@
+package com.woojoo.forsbackend.bench;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.threads.virtual.enabled=false",
+    "fors.auth.mode=token",
+    "fors.auth.token.secret=" + CreateOrderBenchmarkSupport.TOKEN_SECRET
+})
+class PlatformThreadCreateOrderBenchmark extends CreateOrderBenchmarkSupport {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
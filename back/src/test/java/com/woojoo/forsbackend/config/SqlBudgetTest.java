@@ -0,0 +1,126 @@
+package com.woojoo.forsbackend.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.woojoo.forsbackend.security.AuthTokenService;
+import com.woojoo.forsbackend.security.UserPrincipal;
+import com.woojoo.forsbackend.support.EmbeddedMariaDb;
+
+
+/*
+주요 엔드포인트의 요청당 SQL 수 예산. 임베디드 MariaDB 위에 실제 컨텍스트를 띄우고
+MockMvc 요청(같은 스레드)을 SqlStats로 녹화해서 예산을 넘거나 같은 SQL이 반복되면 실패한다.
+예산을 늘려야 하면 늘어난 SQL이 왜 필요한지 주석에 같이 적는다.
+*/
+@SpringBootTest(properties = {
+    "fors.auth.mode=token",
+    "fors.auth.token.secret=" + SqlBudgetTest.TOKEN_SECRET,
+    "fors.sql-stats.enabled=true",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    static final String TOKEN_SECRET = "sql-budget-secret-sql-budget-secret-0123";
+
+    private static final long SKU_ID = 1L;
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    AuthTokenService authTokenService;
+
+    private Long dropEventId;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EmbeddedMariaDb.url("fors_sql_budget"));
+        registry.add("spring.datasource.username", () -> EmbeddedMariaDb.USERNAME);
+        registry.add("spring.datasource.password", () -> EmbeddedMariaDb.PASSWORD);
+    }
+
+    @BeforeEach
+    void seedLiveDrop() {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("INSERT INTO drop_products (name, brand, price) VALUES ('budget', 'FORS', 1000)");
+        Long productId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_products", Long.class);
+        jdbcTemplate.update("INSERT INTO drop_events (product_id, status, starts_at, ends_at) VALUES (?, 'LIVE', ?, ?)",
+            productId, Timestamp.valueOf(now.minusMinutes(1)), Timestamp.valueOf(now.plusHours(1)));
+        dropEventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM drop_events", Long.class);
+        jdbcTemplate.update("INSERT INTO drop_stocks (drop_event_id, sku_id, remaining_qty) VALUES (?, ?, 100)",
+            dropEventId, SKU_ID);
+    }
+
+    // 목록은 메모리 스냅샷이라 처음 한 번만 목록 쿼리 1번
+    @Test
+    void dropList() throws Exception {
+        try (SqlStats.Recording sql = SqlStats.start()) {
+            mockMvc.perform(get("/api/drops")).andExpect(status().isOk());
+            sql.assertAtMost(1, "GET /api/drops");
+        }
+        try (SqlStats.Recording sql = SqlStats.start()) {
+            mockMvc.perform(get("/api/drops")).andExpect(status().isOk());
+            sql.assertAtMost(0, "GET /api/drops (warm)");
+        }
+    }
+
+    // 토큰 모드에서는 서명만 확인하고 DB를 보지 않는다.
+    @Test
+    void me() throws Exception {
+        try (SqlStats.Recording sql = SqlStats.start()) {
+            mockMvc.perform(authorized(get("/api/auth/me"), 42L)).andExpect(status().isOk());
+            sql.assertAtMost(0, "GET /api/auth/me");
+        }
+    }
+
+    /*
+    새 멱등키 주문 한 건 = 멱등키 INSERT 1 + 재고 UPDATE 1 + 주문 INSERT 1 + 결제 INSERT 1 + outbox INSERT 1
+    (드랍 스냅샷은 첫 주문에서 채워지므로 한 번 주문한 뒤 잰다)
+    */
+    @Test
+    void createOrder() throws Exception {
+        mockMvc.perform(createOrderRequest(1L)).andExpect(status().isOk());
+
+        try (SqlStats.Recording sql = SqlStats.start()) {
+            mockMvc.perform(createOrderRequest(2L)).andExpect(status().isOk());
+            sql.assertAtMost(5, "POST /api/orders");
+            sql.assertNoRepeats("POST /api/orders");
+        }
+    }
+
+    private MockHttpServletRequestBuilder createOrderRequest(Long userId) {
+        return authorized(post("/api/orders"), userId)
+            .header("Idempotency-Key", UUID.randomUUID().toString())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"dropEventId\":" + dropEventId + ",\"skuId\":" + SKU_ID + ",\"amount\":1000}");
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request, Long userId) {
+        String token = authTokenService.issue(new UserPrincipal(userId, "budget" + userId + "@fors.local", "",
+            List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        return request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    }
+}
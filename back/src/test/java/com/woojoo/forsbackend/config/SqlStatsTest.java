@@ -0,0 +1,38 @@
+package com.woojoo.forsbackend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatsTest {
+
+    @Test
+    void fingerprintIgnoresLiteralsAndInListLength() {
+        assertEquals(
+            SqlStats.fingerprint("select * from orders where id in (1, 2, 3) and status = 'PAID'"),
+            SqlStats.fingerprint("select *  from orders\n where id in (42) and status = 'EXPIRED'"));
+    }
+
+    @Test
+    void budgetFailsWithRepeatedStatements() {
+        try (SqlStats.Recording outer = SqlStats.start()) {
+            try (SqlStats.Recording inner = SqlStats.start()) {
+                SqlStats.record("select sum(remaining_qty) from drop_stocks where drop_event_id = 1", 2);
+                SqlStats.record("select sum(remaining_qty) from drop_stocks where drop_event_id = 2", 3);
+
+                assertEquals(2, inner.statements());
+                assertEquals(5, inner.dbMillis());
+                assertEquals(Map.of("select sum(remaining_qty) from drop_stocks where drop_event_id = ?", 2), inner.repeated());
+                assertThrows(AssertionError.class, () -> inner.assertAtMost(1, "list"));
+                assertThrows(AssertionError.class, () -> inner.assertNoRepeats("list"));
+            }
+            SqlStats.record("select 1", 0);
+            // 바깥 녹화에는 안쪽에서 실행된 것까지 모두 남는다.
+            assertEquals(3, outer.statements());
+        }
+        SqlStats.record("select 1", 0);
+    }
+}
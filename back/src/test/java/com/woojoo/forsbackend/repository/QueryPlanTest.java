@@ -0,0 +1,391 @@
+package com.woojoo.forsbackend.repository;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.woojoo.forsbackend.service.OrderOutboxRelay;
+import com.woojoo.forsbackend.service.PaymentCallbackStore;
+import com.woojoo.forsbackend.support.EmbeddedMariaDb;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/*
+임베디드 MariaDB에 실제 애플리케이션 컨텍스트를 띄우고, 레포지토리/JDBC 쿼리 메서드를 직접 호출해서
+Hibernate(와 JdbcTemplate)가 실제로 만든 SQL과 바인딩 값을 그대로 잡아 EXPLAIN한다.
+풀 테이블 스캔(type=ALL)이 있으면 실패한다. (네이티브 MariaDB 문법을 쓰므로 H2 대신 MariaDB4j)
+호출은 롤백되는 트랜잭션 안에서 해서 시드 데이터는 바뀌지 않는다.
+레포지토리에 쿼리를 추가하면 여기에도 호출을 추가한다.
+*/
+@SpringBootTest(properties = {
+    "spring.jpa.show-sql=false",
+    // 백그라운드 작업이 시드 데이터를 바꾸지 않게 (기동 직후 한 번은 빈 DB에서 돈다)
+    "fors.order.expiry.rescan-ms=3600000",
+    "fors.drop.lifecycle-rescan-ms=3600000",
+    "fors.idempotency.purge-interval-ms=3600000",
+    "fors.outbox.poll-ms=3600000",
+    "fors.stock.sync-interval-ms=3600000",
+    "fors.metrics.refresh-ms=3600000",
+    "fors.drop.list-refresh-ms=3600000"
+})
+@Import(QueryPlanTest.CaptureConfig.class)
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+    private static final long CURSOR_ID = 9_999_999L;
+
+    // 의도적으로 전체를 읽는 쿼리 (사유와 함께)
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+        "DropEventRepository.findListRows", "드랍 목록 전체 스냅샷 (DropListSnapshot이 주기적으로 한 번만 읽음)",
+        "IdempotencyKeyRepository.findLiveKeyHashes", "기동 시 살아 있는 키 전체로 Bloom filter 예열"
+    );
+
+    private static final String DATABASE = "fors_query_plan";
+
+    private static boolean seeded;
+    private static Connection connection;
+
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    DropEventRepository dropEventRepository;
+    @Autowired
+    DropStockRepository dropStockRepository;
+    @Autowired
+    OrderRepository orderRepository;
+    @Autowired
+    PaymentRepository paymentRepository;
+    @Autowired
+    IdempotencyKeyRepository idempotencyKeyRepository;
+    @Autowired
+    OrderOutboxRelay orderOutboxRelay;
+    @Autowired
+    PaymentCallbackStore paymentCallbackStore;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EmbeddedMariaDb.url(DATABASE));
+        registry.add("spring.datasource.username", () -> EmbeddedMariaDb.USERNAME);
+        registry.add("spring.datasource.password", () -> EmbeddedMariaDb.PASSWORD);
+    }
+
+    @BeforeEach
+    void seedOnce() throws SQLException {
+        if (seeded) {
+            return;
+        }
+        try (Connection c = DriverManager.getConnection(EmbeddedMariaDb.url(DATABASE),
+                EmbeddedMariaDb.USERNAME, EmbeddedMariaDb.PASSWORD)) {
+            connection = c;
+            seed();
+        } finally {
+            connection = null;
+        }
+        seeded = true;
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() throws Exception {
+        Map<String, Runnable> calls = new LinkedHashMap<>();
+        PageRequest myPage = PageRequest.of(0, 20);
+        PageRequest adminPage = PageRequest.of(0, 50);
+
+        // 사용자 조회 + EAGER roles
+        calls.put("UserRepository.findByEmail", () -> userRepository.findByEmail("user42@fors.local"));
+
+        calls.put("DropEventRepository.findByStatus", () -> dropEventRepository.findByStatus("LIVE"));
+        calls.put("DropEventRepository.findByStatusNot", () -> dropEventRepository.findByStatusNot("ENDED"));
+        calls.put("DropEventRepository.startIfScheduled", () -> dropEventRepository.startIfScheduled(3L, NOW));
+        calls.put("DropEventRepository.endIfOver", () -> dropEventRepository.endIfOver(3L, NOW));
+        calls.put("DropEventRepository.findStatusById", () -> dropEventRepository.findStatusById(3L));
+        calls.put("DropEventRepository.findListRows", () -> dropEventRepository.findListRows());
+
+        calls.put("DropStockRepository.decreaseIfAvailable", () -> dropStockRepository.decreaseIfAvailable(3L, 2L, 0));
+        calls.put("DropStockRepository.increaseBy", () -> dropStockRepository.increaseBy(3L, 2L, 0, 3));
+        calls.put("DropStockRepository.decreaseBy", () -> dropStockRepository.decreaseBy(3L, 2L, 0, 3));
+        calls.put("DropStockRepository.sumRemainingQty", () -> dropStockRepository.sumRemainingQty(3L));
+        calls.put("DropStockRepository.findLiveSkuStocks", () -> dropStockRepository.findLiveSkuStocks());
+        calls.put("DropStockRepository.findSkuStocks", () -> dropStockRepository.findSkuStocks(3L));
+        calls.put("DropStockRepository.findByDropEvent_Id", () -> dropStockRepository.findByDropEvent_Id(3L));
+        calls.put("DropStockRepository.findByDropEvent_IdAndSkuIdOrderByBucket",
+            () -> dropStockRepository.findByDropEvent_IdAndSkuIdOrderByBucket(3L, 2L));
+
+        calls.put("OrderRepository.lockExpiredPending", () -> orderRepository.lockExpiredPending(NOW, NOW.minusHours(1), 0L, 500));
+        calls.put("OrderRepository.expireAllIfPending", () -> orderRepository.expireAllIfPending(List.of(10L, 11L, 12L)));
+        calls.put("OrderRepository.findNextPendingExpiry", () -> orderRepository.findNextPendingExpiry());
+        calls.put("OrderRepository.settleIfPending", () -> orderRepository.settleIfPending(10L, "PAID", "SUCCEEDED"));
+        calls.put("OrderRepository.findPayState", () -> orderRepository.findPayState(10L));
+        calls.put("OrderRepository.shipIfPaid", () -> orderRepository.shipIfPaid(10L));
+        calls.put("OrderRepository.findStockPendingKeys", () -> orderRepository.findStockPendingKeys());
+        calls.put("OrderRepository.countStockPending", () -> orderRepository.countStockPending(3L, 2L));
+        calls.put("OrderRepository.countByStatus", () -> orderRepository.countByStatus("PAYMENT_PENDING"));
+        calls.put("OrderRepository.countAllStockPending", () -> orderRepository.countAllStockPending());
+        calls.put("OrderRepository.markStockSynced", () -> orderRepository.markStockSynced(3L, 2L));
+        calls.put("OrderRepository.findMyPageBefore", () -> orderRepository.findMyPageBefore(42L, NOW, CURSOR_ID, myPage));
+        calls.put("OrderRepository.findByIdAndUserId", () -> orderRepository.findByIdAndUserId(10L, 42L));
+        calls.put("OrderRepository.findPageBefore", () -> orderRepository.findPageBefore(NOW, CURSOR_ID, adminPage));
+        calls.put("OrderRepository.findPageByStatusBefore",
+            () -> orderRepository.findPageByStatusBefore("PAID", NOW, CURSOR_ID, adminPage));
+        calls.put("OrderRepository.findUserPageByStatusBefore",
+            () -> orderRepository.findUserPageByStatusBefore(42L, "PAID", NOW, CURSOR_ID, adminPage));
+
+        calls.put("PaymentRepository.findByOrderId", () -> paymentRepository.findByOrderId(10L));
+
+        calls.put("IdempotencyKeyRepository.findResponse", () -> idempotencyKeyRepository.findResponse(sha256("k42"), 42L));
+        calls.put("IdempotencyKeyRepository.findLiveKeyHashes", () -> idempotencyKeyRepository.findLiveKeyHashes(NOW));
+        calls.put("IdempotencyKeyRepository.deleteExpired", () -> idempotencyKeyRepository.deleteExpired(NOW, 1000));
+
+        // GET_LOCK + 묶음 SELECT + DELETE
+        calls.put("OrderOutboxRelay.relay", () -> orderOutboxRelay.relay());
+
+        calls.put("PaymentCallbackStore.lockDue", () -> paymentCallbackStore.lockDue(NOW, 100));
+        calls.put("PaymentCallbackStore.delete", () -> paymentCallbackStore.delete(List.of(10L, 11L, 12L)));
+        calls.put("PaymentCallbackStore.markFailed", () -> paymentCallbackStore.markFailed(10L, "x", NOW, false));
+        calls.put("PaymentCallbackStore.findOrdersWithPending",
+            () -> paymentCallbackStore.findOrdersWithPending(List.of(10L, 11L, 12L)));
+
+        List<String> fullScans = new ArrayList<>();
+        List<String> noSql = new ArrayList<>();
+        for (Map.Entry<String, Runnable> call : calls.entrySet()) {
+            Map<String, CapturedQuery> queries = capture(call.getValue());
+            if (queries.isEmpty()) {
+                noSql.add(call.getKey());
+            }
+            if (FULL_SCAN_ALLOWED.containsKey(call.getKey())) {
+                continue;
+            }
+            for (CapturedQuery query : queries.values()) {
+                for (String table : fullScanTables(query)) {
+                    fullScans.add(call.getKey() + " -> " + table + "\n    " + query.sql());
+                }
+            }
+        }
+        assertTrue(noSql.isEmpty(), "no SQL captured: " + noSql);
+        assertTrue(fullScans.isEmpty(), "full table scan:\n" + String.join("\n", fullScans));
+    }
+
+    // 롤백되는 트랜잭션 안에서 호출하고, 이 스레드에서 나간 SELECT/UPDATE/DELETE를 SQL 문자열별로 하나씩 모은다.
+    private Map<String, CapturedQuery> capture(Runnable call) {
+        Map<String, CapturedQuery> queries = new LinkedHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            CaptureConfig.CAPTURED.set(queries);
+            try {
+                call.run();
+            } finally {
+                CaptureConfig.CAPTURED.remove();
+            }
+            status.setRollbackOnly();
+        });
+        return queries;
+    }
+
+    // 잡은 바인딩을 같은 setter로 다시 걸어서 EXPLAIN한다. (EXPLAIN 앞에 붙여도 파라미터 번호는 그대로)
+    private List<String> fullScanTables(CapturedQuery query) {
+        return jdbcTemplate.execute((Connection con) -> {
+            List<String> tables = new ArrayList<>();
+            try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + query.sql())) {
+                for (ParameterSetOperation op : query.parameters()) {
+                    try {
+                        op.getMethod().invoke(ps, op.getArgs());
+                    } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new SQLException("cannot rebind parameter for " + query.sql(), e);
+                    }
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if ("ALL".equals(rs.getString("type"))) {
+                            tables.add(rs.getString("table"));
+                        }
+                    }
+                }
+            }
+            return tables;
+        });
+    }
+
+    private static byte[] sha256(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    record CapturedQuery(String sql, List<ParameterSetOperation> parameters) {}
+
+    // 애플리케이션 DataSource를 한 번 더 감싸서 테스트 스레드의 SQL과 바인딩 값을 잡는다.
+    @TestConfiguration
+    static class CaptureConfig {
+
+        static final ThreadLocal<Map<String, CapturedQuery>> CAPTURED = new ThreadLocal<>();
+
+        @Bean
+        static BeanPostProcessor queryPlanCapture() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name("query-plan")
+                        .listener(new CaptureListener())
+                        .build();
+                }
+            };
+        }
+    }
+
+    private static final class CaptureListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            Map<String, CapturedQuery> captured = CaptureConfig.CAPTURED.get();
+            if (captured == null) {
+                return;
+            }
+            for (QueryInfo query : queryInfoList) {
+                String sql = query.getQuery().strip();
+                String verb = sql.length() < 6 ? "" : sql.substring(0, 6).toLowerCase(Locale.ROOT);
+                if (!verb.equals("select") && !verb.equals("update") && !verb.equals("delete")) {
+                    continue;
+                }
+                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                    ? List.of() : List.copyOf(query.getParametersList().get(0));
+                captured.putIfAbsent(sql, new CapturedQuery(sql, parameters));
+            }
+        }
+    }
+
+    // 옵티마이저가 실제 분포로 판단하도록 드랍 하루치 정도의 데이터를 넣고 통계를 갱신한다.
+    private static void seed() throws SQLException {
+        LocalDateTime base = LocalDateTime.of(2026, 6, 1, 12, 0);
+        try (Statement st = connection.createStatement()) {
+            // 기동 시 AdminSeeder가 넣은 관리자 계정과 id가 겹치지 않게 비우고 시작한다.
+            st.execute("DELETE FROM user_roles");
+            st.execute("DELETE FROM users");
+            st.execute("INSERT INTO drop_products (name, brand, price) VALUES ('p', 'b', 1000)");
+        }
+
+        batch("INSERT INTO users (id, email, password_hash) VALUES (?, ?, 'x')", 1000, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, "user" + (i + 1) + "@fors.local");
+        });
+        batch("INSERT INTO user_roles (user_id, role) VALUES (?, 'USER')", 1000, (ps, i) -> ps.setLong(1, i + 1));
+
+        // 드랍은 대부분 지난 것(ENDED)
+        batch("INSERT INTO drop_events (id, product_id, status, starts_at, ends_at) VALUES (?, 1, ?, ?, ?)", 200, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, i < 190 ? "ENDED" : (i < 195 ? "LIVE" : "SCHEDULED"));
+            ps.setTimestamp(3, Timestamp.valueOf(base.minusDays(200 - i)));
+            ps.setTimestamp(4, Timestamp.valueOf(base.minusDays(200 - i).plusHours(2)));
+        });
+        batch("INSERT INTO drop_stocks (drop_event_id, sku_id, bucket, remaining_qty) VALUES (?, ?, ?, 10)", 200 * 5 * 4, (ps, i) -> {
+            ps.setLong(1, i / 20 + 1);
+            ps.setLong(2, i / 4 % 5 + 1);
+            ps.setInt(3, i % 4);
+        });
+
+        String[] statuses = {"PAID", "PAID", "PAID", "SHIPPING", "EXPIRED", "CANCELED", "PAID", "PAID", "SHIPPING", "PAYMENT_PENDING"};
+        batch("INSERT INTO orders (id, user_id, drop_event_id, sku_id, status, stock_pending, expires_at, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)", 20000, (ps, i) -> {
+            LocalDateTime createdAt = base.minusMinutes(20000 - i);
+            ps.setLong(1, i + 1);
+            ps.setLong(2, i % 1000 + 1);
+            ps.setLong(3, i / 100 + 1);
+            ps.setLong(4, i % 5 + 1);
+            ps.setString(5, statuses[i % statuses.length]);
+            ps.setBoolean(6, i % 97 == 0);
+            ps.setTimestamp(7, Timestamp.valueOf(createdAt.plusMinutes(5)));
+            ps.setTimestamp(8, Timestamp.valueOf(createdAt));
+        });
+        batch("INSERT INTO payments (id, order_id, status, amount) VALUES (?, ?, 'SUCCEEDED', 1000)", 20000, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setLong(2, i + 1);
+        });
+        batch("INSERT INTO idempotency_keys (key_hash, user_id, order_id, response, expires_at)"
+                + " VALUES (UNHEX(SHA2(?, 256)), ?, ?, '{}', ?)", 20000, (ps, i) -> {
+            ps.setString(1, "k" + i);
+            ps.setLong(2, i % 1000 + 1);
+            ps.setLong(3, i + 1);
+            ps.setTimestamp(4, Timestamp.valueOf(base.minusMinutes(20000 - i).plusHours(24)));
+        });
+
+        batch("INSERT INTO order_outbox (order_id, status, user_id, drop_event_id, sku_id) VALUES (?, 'PAID', ?, ?, ?)", 5000, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setLong(2, i % 1000 + 1);
+            ps.setLong(3, i / 100 + 1);
+            ps.setLong(4, i % 5 + 1);
+        });
+
+        // 반영이 끝난 콜백은 지워지고, 실패해서 남은 DEAD가 조금 쌓인 상태
+        batch("INSERT INTO payment_callbacks (order_id, result, status, next_attempt_at) VALUES (?, 'SUCCEED', ?, ?)", 2000, (ps, i) -> {
+            ps.setLong(1, i + 1);
+            ps.setString(2, i < 1900 ? "DEAD" : "PENDING");
+            ps.setTimestamp(3, Timestamp.valueOf(base.minusMinutes(2000 - i)));
+        });
+
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE TABLE users, user_roles, drop_products, drop_events, drop_stocks, orders, payments, idempotency_keys, order_outbox,"
+                + " payment_callbacks");
+        }
+    }
+
+    private static void batch(String sql, int rows, RowBinder binder) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(ps, i);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int i) throws SQLException;
+    }
+}
@@ -0,0 +1,74 @@
+package com.woojoo.forsbackend.security;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.woojoo.forsbackend.support.EmbeddedMariaDb;
+
+/*
+토큰 모드 인증이 비동기 디스패치까지 이어지는지 본다.
+주문 내보내기는 StreamingResponseBody라 본문은 ASYNC 디스패치에서 쓰이고, 거기서도 ADMIN 권한 검사를 다시 한다.
+*/
+@SpringBootTest(properties = {
+    "fors.auth.mode=token",
+    "fors.auth.token.secret=" + AuthTokenFilterTest.TOKEN_SECRET,
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureMockMvc
+class AuthTokenFilterTest {
+
+    static final String TOKEN_SECRET = "auth-token-secret-auth-token-secret-0123";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    AuthTokenService authTokenService;
+
+    @DynamicPropertySource
+    static void embeddedDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> EmbeddedMariaDb.url("fors_auth_token"));
+        registry.add("spring.datasource.username", () -> EmbeddedMariaDb.USERNAME);
+        registry.add("spring.datasource.password", () -> EmbeddedMariaDb.PASSWORD);
+    }
+
+    @Test
+    void adminExportStreamsOnAsyncDispatch() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/admin/orders/export").param("format", "csv")
+                .header(HttpHeaders.AUTHORIZATION, bearer(1L, "ROLE_ADMIN")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().string("id,userId,dropEventId,skuId,status,expiresAt,createdAt\n"));
+    }
+
+    @Test
+    void exportRejectsNonAdminToken() throws Exception {
+        mockMvc.perform(get("/api/admin/orders/export")
+                .header(HttpHeaders.AUTHORIZATION, bearer(2L, "ROLE_USER")))
+            .andExpect(status().isForbidden());
+    }
+
+    private String bearer(Long userId, String role) {
+        String token = authTokenService.issue(new UserPrincipal(userId, "auth" + userId + "@fors.local", "",
+            List.of(new SimpleGrantedAuthority(role))));
+        return "Bearer " + token;
+    }
+}
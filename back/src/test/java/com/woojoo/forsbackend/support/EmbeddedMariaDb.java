@@ -0,0 +1,52 @@
+package com.woojoo.forsbackend.support;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import ch.vorburger.exec.ManagedProcessException;
+import ch.vorburger.mariadb4j.DB;
+import ch.vorburger.mariadb4j.DBConfigurationBuilder;
+
+/*
+테스트/벤치마크가 같이 쓰는 임베디드 MariaDB (MariaDB4j).
+JVM당 프로세스 하나를 처음 쓸 때 띄우고, 요청한 이름의 DB를 만들어 JDBC URL을 돌려준다.
+Spring 컨텍스트가 캐시되어 클래스가 끝난 뒤에도 쓰일 수 있으므로 DB는 JVM이 끝날 때 내린다.
+*/
+public final class EmbeddedMariaDb {
+
+    public static final String USERNAME = "root";
+    public static final String PASSWORD = "";
+
+    private static DBConfigurationBuilder config;
+    private static DB db;
+    private static final Set<String> databases = new HashSet<>();
+
+    private EmbeddedMariaDb() {
+    }
+
+    public static synchronized String url(String database) {
+        try {
+            if (db == null) {
+                DBConfigurationBuilder builder = DBConfigurationBuilder.newBuilder();
+                builder.setPort(0);
+                DB started = DB.newEmbeddedDB(builder.build());
+                started.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        started.stop();
+                    } catch (ManagedProcessException e) {
+                        // 종료 중이라 무시
+                    }
+                }));
+                config = builder;
+                db = started;
+            }
+            if (databases.add(database)) {
+                db.createDB(database);
+            }
+            return config.getURL(database);
+        } catch (ManagedProcessException e) {
+            throw new IllegalStateException("embedded MariaDB failed to start", e);
+        }
+    }
+}
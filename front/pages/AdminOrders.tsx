@@ -1,9 +1,9 @@
 
 import React, { useState, useEffect } from 'react';
 import { useApp } from '../App';
-import { OrderStatus, Order } from '../types';
+import { OrderStatus, Order, OrderPage } from '../types';
 import Badge from '../components/Badge';
-import { api } from '../api';
+import { api, API_BASE_URL } from '../api';
 import { ORDER_STATUS_LABELS, formatKRW } from '../constants';
 
 const AdminOrders: React.FC = () => {
@@ -17,24 +17,44 @@ const AdminOrders: React.FC = () => {
   const [carrier, setCarrier] = useState('UPS');
   const [tracking, setTracking] = useState('');
 
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+
+  // 필터(상태, 사용자 ID)는 서버에서 적용한다. 필터가 바뀌면 커서를 버리고 첫 페이지부터 다시 받는다.
+  const filterQuery = () => {
+    const params = new URLSearchParams();
+    if (statusFilter !== 'ALL') params.set('status', statusFilter);
+    const userId = search.trim();
+    if (/^\d+$/.test(userId)) params.set('userId', userId);
+    return params;
+  };
+
+  // 서버는 최신순으로 한 페이지씩 내려준다. (다음 페이지는 nextCursor)
+  const loadOrders = async (cursor: string | null) => {
+    try {
+      const params = filterQuery();
+      if (cursor) params.set('cursor', cursor);
+      const query = params.toString();
+      const page = await api<OrderPage>(`/api/admin/orders${query ? `?${query}` : ''}`);
+      setOrders(prev => (cursor ? [...prev, ...page.items] : page.items));
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      addToast('관리자 주문을 불러오지 못했습니다.', 'error');
+    }
+  };
+
   useEffect(() => {
-    const loadOrders = async () => {
-      try {
-        const data = await api<Order[]>('/api/admin/orders');
-        setOrders(data);
-      } catch (err) {
-        addToast('관리자 주문을 불러오지 못했습니다.', 'error');
-      }
-    };
-    loadOrders();
-  }, []);
+    setNextCursor(null);
+    // 입력 중에는 매 글자마다 요청하지 않는다.
+    const timer = setTimeout(() => loadOrders(null), 300);
+    return () => clearTimeout(timer);
+  }, [statusFilter, search]);
 
-  const filteredOrders = orders.filter(o => {
-    const matchesStatus = statusFilter === 'ALL' || o.status === statusFilter;
-    const idMatch = String(o.id).toLowerCase().includes(search.toLowerCase());
-    const userMatch = String(o.userId ?? '').toLowerCase().includes(search.toLowerCase());
-    return matchesStatus && (idMatch || userMatch);
-  });
+  // 현재 필터 그대로 전체 내보내기 (서버가 스트리밍, 브라우저가 파일로 저장)
+  const exportUrl = (format: 'csv' | 'ndjson') => {
+    const params = filterQuery();
+    params.set('format', format);
+    return `${API_BASE_URL}/api/admin/orders/export?${params.toString()}`;
+  };
 
   const handleShip = async (e: React.FormEvent) => {
     e.preventDefault();
@@ -65,7 +85,7 @@ const AdminOrders: React.FC = () => {
           <div className="relative">
               <input 
               type="text"
-              placeholder="주문/드랍 ID 검색..."
+              placeholder="사용자 ID 검색..."
               className="bg-white border border-gray-200 px-4 py-2 pl-10 rounded-xl text-sm focus:outline-none focus:ring-2 focus:ring-indigo-600 w-64"
               value={search}
               onChange={(e) => setSearch(e.target.value)}
@@ -87,6 +107,13 @@ const AdminOrders: React.FC = () => {
               <option key={v} value={v}>{ORDER_STATUS_LABELS[v]}</option>
             ))}
           </select>
+
+          <a
+            href={exportUrl('csv')}
+            className="bg-white border border-gray-200 px-4 py-2 rounded-xl text-sm font-medium text-gray-900 hover:border-gray-900 transition-colors"
+          >
+            CSV 내보내기
+          </a>
         </div>
       </div>
 
@@ -104,7 +131,7 @@ const AdminOrders: React.FC = () => {
               </tr>
             </thead>
             <tbody className="divide-y divide-gray-100 text-sm">
-              {filteredOrders.map(order => (
+              {orders.map(order => (
                 <tr key={order.id} className="hover:bg-gray-50/50">
                   <td className="px-6 py-5 font-mono font-bold text-gray-900">{order.id}</td>
                   <td className="px-6 py-5">
@@ -138,9 +165,19 @@ const AdminOrders: React.FC = () => {
             </tbody>
           </table>
         </div>
-        {filteredOrders.length === 0 && (
+        {orders.length === 0 && (
           <div className="py-20 text-center text-gray-400">일치하는 주문이 없습니다.</div>
         )}
+        {nextCursor && (
+          <div className="py-6 text-center border-t border-gray-100">
+            <button
+              onClick={() => loadOrders(nextCursor)}
+              className="text-sm font-bold text-indigo-600 hover:text-indigo-800"
+            >
+              더 보기
+            </button>
+          </div>
+        )}
       </div>
 
       {/* Ship Modal */}
@@ -3,7 +3,7 @@ import React, { useState, useEffect } from 'react';
 import { useApp } from '../App';
 import { Drop, DropStatus, OrderStatus, Order, Stock } from '../types';
 import Badge from '../components/Badge';
-import { api } from '../api';
+import { api, API_BASE_URL } from '../api';
 import { FALLBACK_DROP_IMAGE, formatKRW } from '../constants';
 
 const DropDetail: React.FC<{ id: string }> = ({ id }) => {
@@ -24,6 +24,34 @@ const DropDetail: React.FC<{ id: string }> = ({ id }) => {
       .catch(() => addToast('드랍을 찾을 수 없습니다.', 'error'));
   }, [id]);
 
+  // 처음 한 번만 조회하고 이후 재고/상태는 서버 스트림의 스냅샷으로 받는다.
+  useEffect(() => {
+    const dropId = Number(id);
+    if (Number.isNaN(dropId)) return;
+    const source = new EventSource(`${API_BASE_URL}/api/drops/${dropId}/stream`, { withCredentials: true });
+    source.addEventListener('update', (e) => {
+      const update = JSON.parse((e as MessageEvent).data) as {
+        status: DropStatus | null;
+        stocks: Record<string, number>;
+      };
+      // 서버가 SKU별 남은 재고 절대값을 보내므로 그대로 덮어쓴다. (구독 직후와 주기적으로 다시 맞춰짐)
+      setDrop((prev) => {
+        if (!prev) return prev;
+        const stocks = prev.stocks?.map((s) => ({
+          ...s,
+          remainingQty: update.stocks[String(s.skuId)] ?? s.remainingQty,
+        }));
+        return {
+          ...prev,
+          status: update.status ?? prev.status,
+          remainingQty: stocks ? stocks.reduce((sum, s) => sum + s.remainingQty, 0) : prev.remainingQty,
+          stocks,
+        };
+      });
+    });
+    return () => source.close();
+  }, [id]);
+
   if (!drop) return <div className="p-20 text-center">드랍을 찾을 수 없습니다.</div>;
 
   const handleCreateOrder = async () => {
@@ -76,13 +104,18 @@ const DropDetail: React.FC<{ id: string }> = ({ id }) => {
     setLoading(true);
     try {
       const result = success ? 'SUCCEED' : 'FAIL';
-      const res = await api<{ orderId: number; orderStatus: string; paymentStatus: string }>(
+      const res = await api<{ orderId: number; orderStatus: string; paymentStatus: string } | null>(
         `/api/orders/${currentOrder.id}/pay`,
         {
           method: 'POST',
           body: JSON.stringify({ result }),
         }
       );
+      if (!res) {
+        // 서버가 결제 콜백을 비동기로 처리하는 경우 (202, 본문 없음). 주문 상태는 그대로 둔다.
+        addToast('결제를 처리 중입니다.', 'success');
+        return;
+      }
       setCurrentOrder(prev => prev ? { ...prev, status: res.orderStatus as OrderStatus } : null);
       addToast(success ? '결제가 완료되었습니다.' : '결제에 실패했습니다.', success ? 'success' : 'error');
     } catch (err) {
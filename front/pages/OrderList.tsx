@@ -1,7 +1,7 @@
 
 import React, { useState, useEffect } from 'react';
 import { useApp } from '../App';
-import { Drop, Order, OrderStatus } from '../types';
+import { Drop, Order, OrderPage, OrderStatus } from '../types';
 import Badge from '../components/Badge';
 import { api } from '../api';
 import { FALLBACK_DROP_IMAGE, ORDER_STATUS_LABELS, formatKRW } from '../constants';
@@ -11,34 +11,40 @@ const OrderList: React.FC = () => {
   const [orders, setOrders] = useState<Order[]>([]);
   const [statusFilter, setStatusFilter] = useState<OrderStatus | 'ALL'>('ALL');
 
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+
+  // 서버는 최신순으로 한 페이지씩 내려준다. (다음 페이지는 nextCursor)
+  const loadOrders = async (cursor: string | null) => {
+    try {
+      const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+      const page = await api<OrderPage>(`/api/orders/me${query}`);
+      const dropCache = new Map<number, Drop>();
+      const enriched = await Promise.all(
+        page.items.map(async (order) => {
+          let drop = dropCache.get(order.dropEventId);
+          if (!drop) {
+            drop = await api<Drop>(`/api/drops/${order.dropEventId}`);
+            dropCache.set(order.dropEventId, drop);
+          }
+          return {
+            ...order,
+            dropName: drop.name,
+            dropBrand: drop.brand,
+            dropImageUrl: drop.imageUrl,
+            amount: drop.price,
+            sizeLabel: `SKU ${order.skuId}`,
+          };
+        })
+      );
+      setOrders(prev => (cursor ? [...prev, ...enriched] : enriched));
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      addToast('주문을 불러오지 못했어요.', 'error');
+    }
+  };
+
   useEffect(() => {
-    const loadOrders = async () => {
-      try {
-        const rawOrders = await api<Order[]>('/api/orders/me');
-        const dropCache = new Map<number, Drop>();
-        const enriched = await Promise.all(
-          rawOrders.map(async (order) => {
-            let drop = dropCache.get(order.dropEventId);
-            if (!drop) {
-              drop = await api<Drop>(`/api/drops/${order.dropEventId}`);
-              dropCache.set(order.dropEventId, drop);
-            }
-            return {
-              ...order,
-              dropName: drop.name,
-              dropBrand: drop.brand,
-              dropImageUrl: drop.imageUrl,
-              amount: drop.price,
-              sizeLabel: `SKU ${order.skuId}`,
-            };
-          })
-        );
-        setOrders(enriched);
-      } catch (err) {
-        addToast('주문을 불러오지 못했어요.', 'error');
-      }
-    };
-    loadOrders();
+    loadOrders(null);
   }, []);
 
   const filteredOrders = statusFilter === 'ALL' 
@@ -145,6 +151,17 @@ const OrderList: React.FC = () => {
             </tbody>
           </table>
         </div>
+
+        {nextCursor && (
+          <div className="py-6 text-center border-t border-gray-100">
+            <button
+              onClick={() => loadOrders(nextCursor)}
+              className="text-sm font-bold text-indigo-600 hover:text-indigo-800"
+            >
+              더 보기
+            </button>
+          </div>
+        )}
         
         {filteredOrders.length === 0 && (
           <div className="py-20 text-center space-y-4">
@@ -62,3 +62,8 @@ export interface Order {
   dropImageUrl?: string;
   sizeLabel?: string;
 }
+
+export interface OrderPage {
+  items: Order[];
+  nextCursor: string | null;
+}